@@ -0,0 +1,45 @@
+package name.liwuest.util.jpa;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** <p>Measures a round trip of an {@link UUID} through {@link CUUIDConverter} and the converters for 16 bytes and compact text, compared to the conversion methods of {@link UUID}.</p>
+ *
+ * @author Bjoern Wuest, Germany
+ * @version 2026-10-16
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CUUIDConverterBenchmark {
+	private final CUUIDConverter m_Converter = new CUUIDConverter();
+	private final CUUIDBinaryConverter m_BinaryConverter = new CUUIDBinaryConverter();
+	private final CUUIDStringConverter m_StringConverter = new CUUIDStringConverter();
+	private final UUID m_Value = UUID.randomUUID();
+	private final byte[] m_Bytes = CUUIDCodec.toBytes(m_Value);
+	private final String m_Text = m_Value.toString();
+
+
+	@Benchmark public UUID roundTrip() { return m_Converter.convertToEntityAttribute(m_Converter.convertToDatabaseColumn(m_Value)); }
+	@Benchmark public UUID roundTripBinary() { return m_BinaryConverter.convertToEntityAttribute(m_BinaryConverter.convertToDatabaseColumn(m_Value)); }
+	@Benchmark public UUID roundTripCompactString() { return m_StringConverter.convertToEntityAttribute(m_StringConverter.convertToDatabaseColumn(m_Value)); }
+	@Benchmark public UUID readBytes() { return m_Converter.convertToEntityAttribute(m_Bytes); }
+	@Benchmark public UUID readString() { return m_Converter.convertToEntityAttribute(m_Text); }
+	@Benchmark public String codecToString() { return CUUIDCodec.toString(m_Value); }
+	@Benchmark public String jdkToString() { return m_Value.toString(); }
+	@Benchmark public UUID codecFromString() { return CUUIDCodec.fromString(m_Text); }
+	@Benchmark public UUID jdkFromString() { return UUID.fromString(m_Text); }
+}
@@ -0,0 +1,29 @@
+package name.liwuest.util.jpa;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** <p>Measures the throughput of {@link CUUIDGenerator} with as many threads as processors, compared to {@link UUID#randomUUID()}, which shares one {@link java.security.SecureRandom}.</p>
+ *
+ * @author Bjoern Wuest, Germany
+ * @version 2026-10-16
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+public class CUUIDGeneratorBenchmark {
+	@Benchmark public UUID timeOrdered() { return CUUIDGenerator.generate(); }
+	@Benchmark public UUID random() { return UUID.randomUUID(); }
+}
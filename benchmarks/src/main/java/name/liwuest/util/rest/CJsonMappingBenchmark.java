@@ -0,0 +1,122 @@
+package name.liwuest.util.rest;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Controller;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+/** <p>Measures request throughput of endpoints mapped with {@link JsonGetMapping} and {@link JsonPostMapping}, dispatched through Spring MVC by {@link MockMvc}, i.e. without network. Endpoints additionally annotated with {@link JsonCacheable} are measured on cache hits, with and without matching ETag. Endpoints mapped with {@link JsonBatchPostMapping} are measured per element, to compare with posting elements one by one.</p>
+ *
+ * @author Bjoern Wuest, Germany
+ * @version 2026-10-16
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CJsonMappingBenchmark {
+	/** <p>Simple payload.</p> */
+	public static class CItem {
+		public long id;
+		public String name;
+		public List<String> tags = new ArrayList<>();
+	}
+
+
+	/** <p>Endpoints under test.</p> */
+	@RestController public static class CController {
+		@JsonGetMapping("/items/{id}") public CItem get(@PathVariable("id") long Id) {
+			CItem result = new CItem();
+			result.id = Id;
+			result.name = "item " + Id;
+			for (int i = 0; i < 10; i++) { result.tags.add("tag " + i); }
+			return result;
+		}
+
+		@JsonPostMapping("/items") public CItem post(@RequestBody CItem Item) { return Item; }
+
+		@JsonBatchPostMapping(value = "/items/batch", chunkSize = 100) public List<Long> post(CJsonBatch<CItem> Items) {
+			return Items.process(new CJsonBatch.IChunkProcessor<CItem, Long>() {
+				@Override public List<Long> process(List<CItem> Chunk) {
+					List<Long> result = new ArrayList<>(Chunk.size());
+					for (CItem item : Chunk) { result.add(Long.valueOf(item.id)); }
+					return result;
+				}
+			});
+		}
+	}
+
+
+	/** <p>Cached endpoint, a plain controller to have the return value handled by {@link CJsonResponseCache} registered as custom handler.</p> */
+	@Controller public static class CCachedController {
+		@JsonGetMapping("/cached/{id}") @JsonCacheable(ttl = 1, timeunit = TimeUnit.HOURS) public CItem get(@PathVariable("id") long Id) { return new CController().get(Id); }
+	}
+
+
+	private final static String m_Item = "{\"id\":42,\"name\":\"item 42\",\"tags\":[\"a\",\"b\",\"c\"]}";
+	/** <p>Number of elements per batch.</p> */
+	private final static int BATCH_SIZE = 1000;
+	private MockMvc m_Mvc;
+	private String m_ETag;
+	private String m_Batch;
+	private String m_BatchNdjson;
+
+
+	@Setup public void setUp() throws Exception {
+		CJsonResponseCache cache = new CJsonResponseCache();
+		CJsonBatchArgumentResolver batches = new CJsonBatchArgumentResolver();
+		m_Mvc = MockMvcBuilders.standaloneSetup(new CController(), new CCachedController()).addInterceptors(cache, batches).setCustomReturnValueHandlers(cache).setCustomArgumentResolvers(batches).build();
+		StringBuilder batch = new StringBuilder("[");
+		StringBuilder batchNdjson = new StringBuilder();
+		for (int i = 0; i < BATCH_SIZE; i++) {
+			batch.append((0 == i) ? "" : ",").append(m_Item);
+			batchNdjson.append(m_Item).append('\n');
+		}
+		m_Batch = batch.append(']').toString();
+		m_BatchNdjson = batchNdjson.toString();
+		m_ETag = getCachedItem().getResponse().getHeader("ETag");
+	}
+
+
+	@Benchmark @Threads(4) public MvcResult getItem() throws Exception { return m_Mvc.perform(get("/items/42").contentType(MediaType.APPLICATION_JSON_UTF8).accept(MediaType.APPLICATION_JSON_UTF8)).andReturn(); }
+
+
+	@Benchmark @Threads(4) public MvcResult getCachedItem() throws Exception { return m_Mvc.perform(get("/cached/42").contentType(MediaType.APPLICATION_JSON_UTF8).accept(MediaType.APPLICATION_JSON_UTF8)).andReturn(); }
+
+
+	@Benchmark @Threads(4) public MvcResult getCachedItemNotModified() throws Exception { return m_Mvc.perform(get("/cached/42").contentType(MediaType.APPLICATION_JSON_UTF8).accept(MediaType.APPLICATION_JSON_UTF8).header("If-None-Match", m_ETag)).andReturn(); }
+
+
+	@Benchmark @Threads(4) public MvcResult postItem() throws Exception { return m_Mvc.perform(post("/items").contentType(MediaType.APPLICATION_JSON_UTF8).accept(MediaType.APPLICATION_JSON_UTF8).content(m_Item)).andReturn(); }
+
+
+	@Benchmark @Threads(4) @OperationsPerInvocation(BATCH_SIZE) public MvcResult postBatch() throws Exception { return m_Mvc.perform(post("/items/batch").contentType(MediaType.APPLICATION_JSON_UTF8).accept(MediaType.APPLICATION_JSON_UTF8).content(m_Batch)).andReturn(); }
+
+
+	@Benchmark @Threads(4) @OperationsPerInvocation(BATCH_SIZE) public MvcResult postBatchNdjson() throws Exception { return m_Mvc.perform(post("/items/batch").contentType(CNdjsonReturnValueHandler.APPLICATION_NDJSON_VALUE).accept(MediaType.APPLICATION_JSON_UTF8).content(m_BatchNdjson)).andReturn(); }
+}
@@ -0,0 +1,51 @@
+package name.liwuest.util.types;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** <p>Measures {@link CPair} as {@link HashMap} key, i.e. lookups of equal but not identical pairs of small integers.</p>
+ *
+ * @author Bjoern Wuest, Germany
+ * @version 2026-10-16
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CPairBenchmark {
+	/** <p>Number of distinct values per side, i.e. the map holds the square of it.</p> */
+	@Param({"32", "256"}) public int m_Side;
+
+	private final HashMap<CPair<Integer, Integer>, Integer> m_Map = new HashMap<>();
+	private CPair<Integer, Integer>[] m_Keys;
+
+
+	@SuppressWarnings("unchecked") @Setup public void setUp() {
+		m_Keys = new CPair[m_Side * m_Side];
+		for (int left = 0; left < m_Side; left++) {
+			for (int right = 0; right < m_Side; right++) {
+				m_Map.put(new CPair<>(left, right), left * m_Side + right);
+				// Look up with distinct instances, as a map key built per request would be
+				m_Keys[left * m_Side + right] = new CPair<>(Integer.valueOf(left), Integer.valueOf(right));
+			}
+		}
+	}
+
+
+	@Benchmark public void lookup(Blackhole Sink) { for (CPair<Integer, Integer> key : m_Keys) { Sink.consume(m_Map.get(key)); } }
+}
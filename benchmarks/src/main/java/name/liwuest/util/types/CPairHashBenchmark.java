@@ -0,0 +1,92 @@
+package name.liwuest.util.types;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** <p>Compares the mixed hash code of {@link CPair} with the former hash code combining the hash codes of both sides with bitwise or, which collides heavily on pairs of small integers.</p>
+ *
+ * <p>Besides the lookup throughput, the set up prints the bucket distribution of both hash codes in a {@link HashMap} holding all keys, i.e. the number of occupied buckets and the longest chain.</p>
+ *
+ * @author Bjoern Wuest, Germany
+ * @version 2026-10-16
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CPairHashBenchmark {
+	/** <p>Pair using the former hash code.</p> */
+	private final static class CLegacyPair<T, U> extends CPair<T, U> {
+		private CLegacyPair(T Left, U Right) { super(Left, Right); }
+		@Override public int hashCode() { return p_Left.hashCode() | p_Right.hashCode(); }
+	}
+
+
+	/** <p>Number of distinct values per side, i.e. the maps hold the square of it.</p> */
+	@Param({"32", "256"}) public int m_Side;
+
+	private final HashMap<CPair<Integer, Integer>, Integer> m_Legacy = new HashMap<>();
+	private final HashMap<CPair<Integer, Integer>, Integer> m_Mixed = new HashMap<>();
+	private CPair<Integer, Integer>[] m_LegacyKeys;
+	private CPair<Integer, Integer>[] m_MixedKeys;
+
+
+	@SuppressWarnings("unchecked") @Setup public void setUp() {
+		m_LegacyKeys = new CPair[m_Side * m_Side];
+		m_MixedKeys = new CPair[m_Side * m_Side];
+		for (int left = 0; left < m_Side; left++) {
+			for (int right = 0; right < m_Side; right++) {
+				int index = left * m_Side + right;
+				m_Legacy.put(new CLegacyPair<>(left, right), index);
+				m_Mixed.put(new CPair<>(left, right), index);
+				// Look up with distinct instances, as a map key built per request would be
+				m_LegacyKeys[index] = new CLegacyPair<>(Integer.valueOf(left), Integer.valueOf(right));
+				m_MixedKeys[index] = new CPair<>(Integer.valueOf(left), Integer.valueOf(right));
+			}
+		}
+		System.out.println();
+		System.out.println("legacy: " + distribution(m_LegacyKeys));
+		System.out.println("mixed:  " + distribution(m_MixedKeys));
+	}
+
+
+	@Benchmark public void lookupLegacy(Blackhole Sink) { for (CPair<Integer, Integer> key : m_LegacyKeys) { Sink.consume(m_Legacy.get(key)); } }
+	@Benchmark public void lookupMixed(Blackhole Sink) { for (CPair<Integer, Integer> key : m_MixedKeys) { Sink.consume(m_Mixed.get(key)); } }
+
+
+	/** <p>Describes how the given keys spread over the buckets of a {@link HashMap} holding all of them.</p>
+	 *
+	 * @param Keys The keys.
+	 * @return Number of distinct hash codes, occupied buckets and longest chain.
+	 */
+	private static String distribution(CPair<?, ?>[] Keys) {
+		// Table size and bucket index as used by HashMap with default load factor
+		int buckets = Integer.highestOneBit(Math.max(1, (int)(Keys.length / 0.75f)) * 2 - 1);
+		int[] chains = new int[buckets];
+		int occupied = 0, longest = 0;
+		for (CPair<?, ?> key : Keys) {
+			int h = key.hashCode();
+			int index = (h ^ (h >>> 16)) & (buckets - 1);
+			if (0 == chains[index]++) { occupied++; }
+			longest = Math.max(longest, chains[index]);
+		}
+		long distinct = Arrays.stream(Keys).mapToInt(Object::hashCode).distinct().count();
+		return Keys.length + " keys, " + distinct + " distinct hash codes, " + occupied + " of " + buckets + " buckets occupied, longest chain " + longest;
+	}
+}
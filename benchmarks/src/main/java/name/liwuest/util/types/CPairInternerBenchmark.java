@@ -0,0 +1,65 @@
+package name.liwuest.util.types;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** <p>Compares map lookups with a new {@link CPair} key per event to lookups with keys from a {@link CPairInterner}.</p>
+ *
+ * <p>Run with {@code -prof gc} to see the allocation rate per operation.</p>
+ *
+ * @author Bjoern Wuest, Germany
+ * @version 2026-10-16
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class CPairInternerBenchmark {
+	/** <p>Number of distinct tenants, each combined with every status.</p> */
+	@Param({"16", "1024"}) public int m_Tenants;
+
+	private final static String[] m_Statuses = {"NEW", "OPEN", "PENDING", "DONE", "FAILED"};
+	private final CPairInterner<String, String> m_Interner = new CPairInterner<>();
+	private final HashMap<CPair<String, String>, Integer> m_Plain = new HashMap<>();
+	private final HashMap<CPair<String, String>, Integer> m_Interned = new HashMap<>();
+	private String[] m_TenantNames;
+
+
+	@Setup public void setUp() {
+		m_TenantNames = new String[m_Tenants];
+		for (int tenant = 0; tenant < m_Tenants; tenant++) {
+			m_TenantNames[tenant] = "tenant-" + tenant;
+			for (int status = 0; status < m_Statuses.length; status++) {
+				m_Plain.put(new CPair<>(m_TenantNames[tenant], m_Statuses[status]), status);
+				m_Interned.put(m_Interner.intern(m_TenantNames[tenant], m_Statuses[status]), status);
+			}
+		}
+	}
+
+
+	@Benchmark public void lookupNew(Blackhole Sink) {
+		for (String tenant : m_TenantNames) { for (String status : m_Statuses) { Sink.consume(m_Plain.get(new CPair<>(tenant, status))); } }
+	}
+
+
+	@Benchmark public void lookupInterned(Blackhole Sink) {
+		for (String tenant : m_TenantNames) { for (String status : m_Statuses) { Sink.consume(m_Interned.get(m_Interner.intern(tenant, status))); } }
+	}
+}
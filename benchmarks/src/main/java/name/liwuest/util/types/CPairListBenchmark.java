@@ -0,0 +1,89 @@
+package name.liwuest.util.types;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** <p>Compares sorting by left hand side and scanning of an {@link ArrayList} of {@link CPair} with the columnar {@link CPairList} and {@link CIntPairList}.</p>
+ *
+ * @author Bjoern Wuest, Germany
+ * @version 2026-10-16
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+@State(Scope.Benchmark)
+public class CPairListBenchmark {
+	/** <p>Number of pairs per list.</p> */
+	@Param({"1000000", "10000000"}) public int m_Size;
+
+	private int[] m_Keys;
+	private ArrayList<CPair<Integer, Integer>> m_Objects;
+	private CPairList<Integer, Integer> m_Pairs;
+	private CIntPairList<Integer> m_IntPairs;
+
+
+	@Setup(Level.Trial) public void setUpKeys() {
+		Random random = new Random(42);
+		m_Keys = new int[m_Size];
+		for (int i = 0; i < m_Size; i++) { m_Keys[i] = random.nextInt(); }
+	}
+
+
+	/** <p>Fills all lists in the same unsorted order, so every invocation sorts from scratch.</p> */
+	@Setup(Level.Invocation) public void setUp() {
+		m_Objects = new ArrayList<>(m_Size);
+		m_Pairs = new CPairList<>(m_Size);
+		m_IntPairs = new CIntPairList<>(m_Size);
+		for (int i = 0; i < m_Size; i++) {
+			Integer key = m_Keys[i], value = i;
+			m_Objects.add(new CPair<>(key, value));
+			m_Pairs.add(key, value);
+			m_IntPairs.add(m_Keys[i], value);
+		}
+	}
+
+
+	@SuppressWarnings("unchecked") @Benchmark public Object sortArrayList() { Collections.sort((ArrayList)m_Objects); return m_Objects; }
+	@Benchmark public Object sortPairList() { return m_Pairs.sort(); }
+	@Benchmark public Object parallelSortPairList() { return m_Pairs.parallelSort(); }
+	@Benchmark public Object sortIntPairList() { return m_IntPairs.sort(); }
+	@Benchmark public Object parallelSortIntPairList() { return m_IntPairs.parallelSort(); }
+
+
+	@Benchmark public long scanArrayList() {
+		long result = 0;
+		for (CPair<Integer, Integer> pair : m_Objects) { result += pair.getLeft() ^ pair.getRight(); }
+		return result;
+	}
+
+
+	@Benchmark public long scanPairList() {
+		final long[] result = {0};
+		m_Pairs.forEach(new CPairList.IVisitor<Integer, Integer>() { @Override public void visit(Integer Left, Integer Right) { result[0] += Left ^ Right; } });
+		return result[0];
+	}
+
+
+	@Benchmark public long scanIntPairList() {
+		final long[] result = {0};
+		m_IntPairs.forEach(new CIntPairList.IVisitor<Integer>() { @Override public void visit(int Left, Integer Right) { result[0] += Left ^ Right; } });
+		return result[0];
+	}
+}
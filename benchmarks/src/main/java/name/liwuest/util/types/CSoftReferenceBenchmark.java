@@ -0,0 +1,56 @@
+package name.liwuest.util.types;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** <p>Measures {@link CSoftReference#get()} on a hit, uncontended and contended by all available processors, and the cost of regaining a cleared object with {@link CSoftReference.IInstantiator}.</p>
+ *
+ * @author Bjoern Wuest, Germany
+ * @version 2026-10-16
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CSoftReferenceBenchmark {
+	private CSoftReference<Object> m_Shared;
+
+
+	@Setup public void setUp() {
+		m_Shared = new CSoftReference<Object>(new Object(), new CSoftReference.IInstantiator<Object>() { @Override public Object createInstance() { return new Object(); } });
+	}
+
+
+	/** <p>Per thread reference, to measure resurrection without interference by other threads.</p> */
+	@State(Scope.Thread) public static class CResurrection {
+		private CSoftReference<Object> m_Ref;
+
+		@Setup public void setUp() { m_Ref = new CSoftReference<Object>(new CSoftReference.IInstantiator<Object>() { @Override public Object createInstance() { return new Object(); } }); }
+	}
+
+
+	@Benchmark @Threads(1) public Object getUncontended() { return m_Shared.get(); }
+
+
+	@Benchmark @Threads(Threads.MAX) public Object getContended() { return m_Shared.get(); }
+
+
+	/** <p>Clears the object like the garbage collector does and regains it.</p> */
+	@Benchmark @Threads(1) public Object resurrect(CResurrection State) {
+		State.m_Ref.evict();
+		return State.m_Ref.get();
+	}
+}
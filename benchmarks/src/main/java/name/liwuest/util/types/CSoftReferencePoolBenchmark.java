@@ -0,0 +1,58 @@
+package name.liwuest.util.types;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** <p>Compares taking a buffer from a {@link CSoftReferencePool} and giving it back with allocating a new buffer per use.</p>
+ *
+ * <p>Run with {@code -prof gc} to see the allocation rate per operation.</p>
+ *
+ * @author Bjoern Wuest, Germany
+ * @version 2026-10-16
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class CSoftReferencePoolBenchmark {
+	/** <p>Size of the buffers in bytes.</p> */
+	@Param({"8192", "1048576"}) public int m_BufferSize;
+
+	private CSoftReferencePool<byte[]> m_Pool;
+
+
+	@Setup public void setUp() {
+		m_Pool = new CSoftReferencePool<>(new CSoftReference.IInstantiator<byte[]>() { @Override public byte[] createInstance() { return new byte[m_BufferSize]; } });
+	}
+
+
+	@Benchmark public byte allocate() {
+		byte[] buffer = new byte[m_BufferSize];
+		buffer[0] = 1;
+		return buffer[0];
+	}
+
+
+	@Benchmark public byte pooled() {
+		byte[] buffer = m_Pool.acquire();
+		try {
+			buffer[0] = 1;
+			return buffer[0];
+		} finally { m_Pool.release(buffer); }
+	}
+}
@@ -0,0 +1,51 @@
+package name.liwuest.util.types;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** <p>Measures {@link CTimedSoftReference#set(Object)} churn on a shared reference, with and without resetting the timeout on write, alone and alongside concurrent readers.</p>
+ *
+ * @author Bjoern Wuest, Germany
+ * @version 2026-10-16
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CTimedSoftReferenceBenchmark {
+	@Param({"false", "true"}) public boolean m_ResetOnWrite;
+
+	private CTimedSoftReference<Object> m_Ref;
+	private final Object m_Value = new Object();
+
+
+	@Setup public void setUp() { m_Ref = new CTimedSoftReference<Object>(m_Value, 10l, TimeUnit.MINUTES, m_ResetOnWrite); }
+
+
+	@Benchmark @Threads(1) public Object setUncontended() { return m_Ref.set(m_Value); }
+
+
+	@Benchmark @Threads(4) public Object setContended() { return m_Ref.set(m_Value); }
+
+
+	@Benchmark @Group("churn") @GroupThreads(1) public Object churnSet() { return m_Ref.set(m_Value); }
+
+
+	@Benchmark @Group("churn") @GroupThreads(3) public Object churnGet() { return m_Ref.get(); }
+}
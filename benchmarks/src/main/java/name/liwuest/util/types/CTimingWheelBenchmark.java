@@ -0,0 +1,89 @@
+package name.liwuest.util.types;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** <p>Compares scheduling and batch expiry of large numbers of clearing tasks on a {@link CTimingWheel} with one {@link java.util.concurrent.ScheduledFuture} per task on a {@link ScheduledThreadPoolExecutor}, as formerly used by {@link CTimedSoftReference}.</p>
+ *
+ * @author Bjoern Wuest, Germany
+ * @version 2026-10-16
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+@State(Scope.Benchmark)
+public class CTimingWheelBenchmark {
+	/** <p>Number of clearing tasks scheduled per invocation.</p> */
+	@Param({"1000000", "10000000"}) public int m_References;
+
+	private final static ThreadFactory m_Daemons = new ThreadFactory() { @Override public Thread newThread(Runnable r) { Thread result = new Thread(r, "Benchmark - Clearing Tasks"); result.setDaemon(true); return result; } };
+	private ScheduledThreadPoolExecutor m_Executor;
+	private CTimingWheel m_Wheel;
+
+
+	@Setup(Level.Invocation) public void setUp() {
+		m_Executor = new ScheduledThreadPoolExecutor(Runtime.getRuntime().availableProcessors(), m_Daemons);
+		m_Executor.setRemoveOnCancelPolicy(false);
+		m_Wheel = new CTimingWheel(CTimedSoftReference.TICK_MILLIS, TimeUnit.MILLISECONDS, 4096, m_Daemons);
+	}
+
+
+	@TearDown(Level.Invocation) public void tearDown() {
+		m_Executor.shutdownNow();
+		m_Wheel.shutdown();
+	}
+
+
+	/** <p>Schedules far in the future, i.e. measures the cost of scheduling only.</p> */
+	@Benchmark public Object scheduleExecutor() {
+		Runnable task = new Runnable() { @Override public void run() { /* nothing to do */ } };
+		Object result = null;
+		for (int i = 0; i < m_References; i++) { result = m_Executor.schedule(task, 10 + (i & 1023), TimeUnit.MINUTES); }
+		return result;
+	}
+
+
+	/** <p>Schedules far in the future, i.e. measures the cost of scheduling only.</p> */
+	@Benchmark public Object scheduleWheel() {
+		Runnable task = new Runnable() { @Override public void run() { /* nothing to do */ } };
+		Object result = null;
+		for (int i = 0; i < m_References; i++) { result = m_Wheel.schedule(task, 10 + (i & 1023), TimeUnit.MINUTES); }
+		return result;
+	}
+
+
+	/** <p>Schedules with short timeouts and waits for all tasks to run, i.e. measures scheduling and expiry.</p> */
+	@Benchmark public void expireExecutor() throws InterruptedException {
+		final CountDownLatch done = new CountDownLatch(m_References);
+		Runnable task = new Runnable() { @Override public void run() { done.countDown(); } };
+		for (int i = 0; i < m_References; i++) { m_Executor.schedule(task, 100 + (i & 127), TimeUnit.MILLISECONDS); }
+		done.await();
+	}
+
+
+	/** <p>Schedules with short timeouts and waits for all tasks to run, i.e. measures scheduling and expiry.</p> */
+	@Benchmark public void expireWheel() throws InterruptedException {
+		final CountDownLatch done = new CountDownLatch(m_References);
+		Runnable task = new Runnable() { @Override public void run() { done.countDown(); } };
+		for (int i = 0; i < m_References; i++) { m_Wheel.schedule(task, 100 + (i & 127), TimeUnit.MILLISECONDS); }
+		done.await();
+	}
+}
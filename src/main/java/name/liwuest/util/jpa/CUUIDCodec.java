@@ -0,0 +1,147 @@
+package name.liwuest.util.jpa;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/** <p>Conversion of {@link UUID} to and from 16 byte arrays and text, without intermediate objects as {@link UUID#toString()} and {@link UUID#fromString(String)} create.</p>
+ *
+ * <p>Byte arrays hold the UUID in network byte order, i.e. as {@code BINARY(16)} or {@code RAW(16)} columns and most drivers do. Text is either the canonical form of 36 characters with hyphens, or the compact form of 32 hexadecimal digits without hyphens. Parsing accepts both forms and hexadecimal digits in either case.</p>
+ *
+ * @author Bjoern Wuest, Germany
+ * @version 2026-10-16
+ */
+public final class CUUIDCodec {
+	/** <p>Lower case hexadecimal digits.</p> */
+	private final static char[] m_Digits = "0123456789abcdef".toCharArray();
+	/** <p>Values of hexadecimal digits by character, {@code -1} for other characters.</p> */
+	private final static byte[] m_Values = new byte[128];
+	static {
+		Arrays.fill(m_Values, (byte)-1);
+		for (int i = 0; i < 10; i++) { m_Values['0' + i] = (byte)i; }
+		for (int i = 0; i < 6; i++) { m_Values['a' + i] = m_Values['A' + i] = (byte)(10 + i); }
+	}
+
+
+	private CUUIDCodec() { /* static methods only */ }
+
+
+	/** <p>Returns the given UUID as 16 bytes.</p>
+	 *
+	 * @param Uuid The UUID to convert.
+	 * @return New array of 16 bytes.
+	 */
+	public static byte[] toBytes(UUID Uuid) {
+		byte[] result = new byte[16];
+		toBytes(Uuid, result, 0);
+		return result;
+	}
+
+
+	/** <p>Writes the given UUID as 16 bytes into the given array.</p>
+	 *
+	 * @param Uuid The UUID to convert.
+	 * @param Target The array to write to.
+	 * @param Offset The position in the array to write the first byte to.
+	 */
+	public static void toBytes(UUID Uuid, byte[] Target, int Offset) {
+		putLong(Uuid.getMostSignificantBits(), Target, Offset);
+		putLong(Uuid.getLeastSignificantBits(), Target, Offset + 8);
+	}
+
+
+	/** <p>Returns the UUID of the given 16 bytes.</p>
+	 *
+	 * @param Source The array of 16 bytes.
+	 * @return The UUID.
+	 * @throws IllegalArgumentException If the array is not 16 bytes long.
+	 */
+	public static UUID fromBytes(byte[] Source) {
+		if (16 != Source.length) { throw new IllegalArgumentException("UUID must be 16 bytes, but is " + Source.length); }
+		return fromBytes(Source, 0);
+	}
+
+
+	/** <p>Returns the UUID of the 16 bytes in the given array.</p>
+	 *
+	 * @param Source The array to read from.
+	 * @param Offset The position in the array of the first byte.
+	 * @return The UUID.
+	 */
+	public static UUID fromBytes(byte[] Source, int Offset) { return new UUID(getLong(Source, Offset), getLong(Source, Offset + 8)); }
+
+
+	/** <p>Returns the canonical text of the given UUID, i.e. the same as {@link UUID#toString()}.</p>
+	 *
+	 * @param Uuid The UUID to convert.
+	 * @return The UUID as 36 characters.
+	 */
+	public static String toString(UUID Uuid) {
+		char[] result = new char[36];
+		long msb = Uuid.getMostSignificantBits(), lsb = Uuid.getLeastSignificantBits();
+		putHex(msb >>> 32, result, 0, 8);
+		result[8] = '-';
+		putHex(msb >>> 16, result, 9, 4);
+		result[13] = '-';
+		putHex(msb, result, 14, 4);
+		result[18] = '-';
+		putHex(lsb >>> 48, result, 19, 4);
+		result[23] = '-';
+		putHex(lsb, result, 24, 12);
+		return new String(result);
+	}
+
+
+	/** <p>Returns the compact text of the given UUID, i.e. hexadecimal digits without hyphens.</p>
+	 *
+	 * @param Uuid The UUID to convert.
+	 * @return The UUID as 32 characters.
+	 */
+	public static String toCompactString(UUID Uuid) {
+		char[] result = new char[32];
+		putHex(Uuid.getMostSignificantBits(), result, 0, 16);
+		putHex(Uuid.getLeastSignificantBits(), result, 16, 16);
+		return new String(result);
+	}
+
+
+	/** <p>Returns the UUID of the given canonical or compact text.</p>
+	 *
+	 * @param Text The text of 36 characters with hyphens or 32 characters without.
+	 * @return The UUID.
+	 * @throws IllegalArgumentException If the text is neither canonical nor compact text of an UUID.
+	 */
+	public static UUID fromString(CharSequence Text) {
+		if (32 == Text.length()) { return new UUID(getHex(Text, 0, 16), getHex(Text, 16, 16)); }
+		if ((36 != Text.length()) || ('-' != Text.charAt(8)) || ('-' != Text.charAt(13)) || ('-' != Text.charAt(18)) || ('-' != Text.charAt(23))) { throw new IllegalArgumentException("Invalid UUID: " + Text); }
+		long msb = (getHex(Text, 0, 8) << 32) | (getHex(Text, 9, 4) << 16) | getHex(Text, 14, 4);
+		long lsb = (getHex(Text, 19, 4) << 48) | getHex(Text, 24, 12);
+		return new UUID(msb, lsb);
+	}
+
+
+	private static void putLong(long Value, byte[] Target, int Offset) { for (int i = 7; i >= 0; i--) { Target[Offset + 7 - i] = (byte)(Value >>> (i << 3)); } }
+
+
+	private static long getLong(byte[] Source, int Offset) {
+		long result = 0;
+		for (int i = 0; i < 8; i++) { result = (result << 8) | (Source[Offset + i] & 0xFF); }
+		return result;
+	}
+
+
+	/** <p>Writes the given number of lowest hexadecimal digits of the given value.</p> */
+	private static void putHex(long Value, char[] Target, int Offset, int Digits) { for (int i = Offset + Digits - 1; i >= Offset; i--, Value >>>= 4) { Target[i] = m_Digits[(int)(Value & 0xF)]; } }
+
+
+	/** <p>Reads the given number of hexadecimal digits.</p> */
+	private static long getHex(CharSequence Text, int Offset, int Digits) {
+		long result = 0;
+		for (int i = Offset; i < Offset + Digits; i++) {
+			char c = Text.charAt(i);
+			int value = (128 > c) ? m_Values[c] : -1;
+			if (0 > value) { throw new IllegalArgumentException("Invalid UUID: " + Text); }
+			result = (result << 4) | value;
+		}
+		return result;
+	}
+}
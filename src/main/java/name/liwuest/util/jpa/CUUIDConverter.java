@@ -1,12 +1,20 @@
 package name.liwuest.util.jpa;
 
-import java.util.Optional;
 import java.util.UUID;
 
 import javax.persistence.AttributeConverter;
 import javax.persistence.Converter;
 
+/** <p>Passes {@link UUID} attributes to drivers supporting them natively. Drivers returning the column as 16 bytes or as text are supported when reading, too.</p>
+ * 
+ * <p>To store UUIDs as 16 bytes or as compact text explicitly, use {@link CUUIDBinaryConverter} or {@link CUUIDStringConverter} per attribute.</p>
+ */
 @Converter(autoApply = true) public class CUUIDConverter implements AttributeConverter<UUID, Object> {
-	@Override public Object convertToDatabaseColumn(final UUID entityValue) { return Optional.ofNullable(entityValue).map(entityUuid -> entityUuid).orElse(null); }
-	@Override public UUID convertToEntityAttribute(final Object databaseValue) { return Optional.ofNullable(databaseValue).map(databaseUuid -> UUID.class.cast(databaseUuid)).orElse(null); }
-}
+	@Override public Object convertToDatabaseColumn(final UUID entityValue) { return entityValue; }
+	@Override public UUID convertToEntityAttribute(final Object databaseValue) {
+		if ((null == databaseValue) || (databaseValue instanceof UUID)) { return (UUID)databaseValue; }
+		if (databaseValue instanceof byte[]) { return CUUIDCodec.fromBytes((byte[])databaseValue); }
+		if (databaseValue instanceof CharSequence) { return CUUIDCodec.fromString((CharSequence)databaseValue); }
+		throw new IllegalArgumentException("Cannot convert " + databaseValue.getClass().getName() + " to UUID");
+	}
+}
\ No newline at end of file
@@ -0,0 +1,71 @@
+package name.liwuest.util.jpa;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/** <p>Generator of time-ordered UUIDs in the version 7 layout, i.e. to be used as primary keys with {@link CUUIDConverter} without scattering inserts over the whole index.</p>
+ *
+ * <p>The UUIDs start with the milliseconds since the epoch, followed by a counter of 42 bits and 32 random bits. The counter is seeded randomly every millisecond and incremented for every further UUID within the same millisecond, so UUIDs generated by the same thread are strictly increasing, even if the system clock is set back. If the counter overflows, the timestamp is advanced by one millisecond.</p>
+ *
+ * <p>All state is kept per thread and random bits are taken from {@link ThreadLocalRandom}, so generation does not contend between threads. UUIDs of different threads within the same millisecond are not ordered among each other, but share the timestamp prefix.</p>
+ *
+ * @author Bjoern Wuest, Germany
+ * @version 2026-10-16
+ */
+public final class CUUIDGenerator {
+	/** <p>State of the generator of one thread.</p> */
+	private final static class CState {
+		/** <p>Timestamp of the last UUID generated.</p> */
+		private long m_Millis = Long.MIN_VALUE;
+		/** <p>Counter of the last UUID generated.</p> */
+		private long m_Counter;
+	}
+
+
+	/** <p>Largest value of the counter.</p> */
+	private final static long MAX_COUNTER = (1L << 42) - 1;
+	/** <p>Mask for the random seed of the counter, leaving the upper bit clear to have room for increments.</p> */
+	private final static long SEED_MASK = MAX_COUNTER >>> 1;
+	/** <p>State of the generator per thread.</p> */
+	private final static ThreadLocal<CState> m_State = new ThreadLocal<CState>() { @Override protected CState initialValue() { return new CState(); } };
+
+
+	private CUUIDGenerator() { /* static methods only */ }
+
+
+	/** <p>Generates a new time-ordered UUID.</p>
+	 *
+	 * @return The UUID.
+	 */
+	public static UUID generate() {
+		CState state = m_State.get();
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		long now = System.currentTimeMillis();
+		if (now > state.m_Millis) {
+			state.m_Millis = now;
+			state.m_Counter = random.nextLong() & SEED_MASK;
+		} else if (MAX_COUNTER < ++state.m_Counter) {
+			// Counter exhausted within the millisecond, or clock set back for long
+			state.m_Millis++;
+			state.m_Counter = random.nextLong() & SEED_MASK;
+		}
+		long counter = state.m_Counter;
+		// unix_ts_ms (48 bits), version (4 bits), rand_a (12 upper bits of counter)
+		long msb = ((state.m_Millis & 0xFFFFFFFFFFFFL) << 16) | 0x7000L | (counter >>> 30);
+		// variant (2 bits), rand_b (30 lower bits of counter, 32 random bits)
+		long lsb = 0x8000000000000000L | ((counter & 0x3FFFFFFFL) << 32) | (random.nextInt() & 0xFFFFFFFFL);
+		return new UUID(msb, lsb);
+	}
+
+
+	/** <p>Returns the timestamp of a time-ordered UUID.</p>
+	 *
+	 * @param Uuid The UUID generated by {@link #generate()}, or any other UUID of version 7.
+	 * @return The milliseconds since the epoch the UUID was generated at.
+	 * @throws IllegalArgumentException If the UUID is not of version 7.
+	 */
+	public static long timestamp(UUID Uuid) {
+		if (7 != Uuid.version()) { throw new IllegalArgumentException("Not a time-ordered UUID: " + Uuid); }
+		return Uuid.getMostSignificantBits() >>> 16;
+	}
+}
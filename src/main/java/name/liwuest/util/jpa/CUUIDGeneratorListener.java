@@ -0,0 +1,47 @@
+package name.liwuest.util.jpa;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import javax.persistence.Id;
+import javax.persistence.PrePersist;
+
+/** <p>Entity listener assigning time-ordered UUIDs from {@link CUUIDGenerator} to identifiers before an entity is persisted.</p>
+ *
+ * <p>JPA does not define custom identifier generators, hence the listener sets all fields of type {@link UUID} annotated with {@link Id}, including fields of super classes, that are {@code null} when the entity is persisted. Identifiers set explicitly are kept. Enable it per entity with {@code @EntityListeners(CUUIDGeneratorListener.class)}, or for all entities as default entity listener in {@code orm.xml}.</p>
+ *
+ * @author Bjoern Wuest, Germany
+ * @version 2026-10-16
+ */
+public class CUUIDGeneratorListener {
+	/** <p>The identifier fields of type {@link UUID} per entity class.</p> */
+	private final static ClassValue<Field[]> m_Fields = new ClassValue<Field[]>() {
+		@Override protected Field[] computeValue(Class<?> Type) {
+			List<Field> result = new ArrayList<>();
+			for (Class<?> type = Type; (null != type) && (Object.class != type); type = type.getSuperclass()) {
+				for (Field field : type.getDeclaredFields()) {
+					if (!Modifier.isStatic(field.getModifiers()) && (UUID.class == field.getType()) && field.isAnnotationPresent(Id.class)) {
+						field.setAccessible(true);
+						result.add(field);
+					}
+				}
+			}
+			return result.toArray(new Field[result.size()]);
+		}
+	};
+
+
+	/** <p>Assigns a new UUID to all unset identifier fields of type {@link UUID} of the given entity.</p>
+	 *
+	 * @param Entity The entity to be persisted.
+	 */
+	@PrePersist public void assignIdentifier(Object Entity) {
+		for (Field field : m_Fields.get(Entity.getClass())) {
+			try { if (null == field.get(Entity)) { field.set(Entity, CUUIDGenerator.generate()); } }
+			catch (IllegalAccessException Ex) { throw new IllegalStateException("Cannot assign identifier " + field, Ex); }
+		}
+	}
+}
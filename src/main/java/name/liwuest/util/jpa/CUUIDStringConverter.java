@@ -0,0 +1,18 @@
+package name.liwuest.util.jpa;
+
+import java.util.UUID;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+/** <p>Stores {@link UUID} attributes as compact text of 32 hexadecimal digits, e.g. in {@code CHAR(32)} columns. Canonical text with hyphens is read, too.</p>
+ *
+ * <p>Enable per attribute with {@code @Convert(converter = CUUIDStringConverter.class)}.</p>
+ *
+ * @author Bjoern Wuest, Germany
+ * @version 2026-10-16
+ */
+@Converter public class CUUIDStringConverter implements AttributeConverter<UUID, String> {
+	@Override public String convertToDatabaseColumn(final UUID entityValue) { return (null == entityValue) ? null : CUUIDCodec.toCompactString(entityValue); }
+	@Override public UUID convertToEntityAttribute(final String databaseValue) { return (null == databaseValue) ? null : CUUIDCodec.fromString(databaseValue); }
+}
@@ -0,0 +1,146 @@
+package name.liwuest.util.rest;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/** <p>Elements of a request body mapped with {@link JsonBatchPostMapping}, in chunks of the configured size.</p>
+ *
+ * <p>The body is parsed while iterating, i.e. only one chunk of elements is held in memory at a time. Hence the batch can be iterated only once. Malformed elements cause a {@link HttpMessageNotReadableException} thrown from the iteration, answered with {@code 400 Bad Request} by Spring MVC.</p>
+ *
+ * <p>The parser is closed at the end of input, by {@link #process(IChunkProcessor)} in any case, and by {@link CJsonBatchArgumentResolver} on completion of the request if registered as interceptor. Callers iterating themselves and stopping early shall {@link #close()} the batch, e.g. with try-with-resources, if the resolver is not registered as interceptor.</p>
+ *
+ * @author Bjoern Wuest, Germany
+ * @version 2026-10-16
+ * @param <T> The type of elements.
+ */
+public class CJsonBatch<T> implements Iterable<List<T>>, Closeable {
+	/** <p>Interface to implement processing of chunks of elements with a result per element.</p>
+	 *
+	 * @author Bjoern Wuest, Germany
+	 * @version 2026-10-16
+	 *
+	 * @param <T> The type of elements.
+	 * @param <R> The type of results.
+	 */
+	public interface IChunkProcessor<T, R> {
+		/** <p>Implementation shall process the given chunk, e.g. in one transaction.</p>
+		 *
+		 * @param Chunk The elements of the chunk.
+		 * @return The results in order of the elements.
+		 */
+		public List<? extends R> process(List<T> Chunk);
+	}
+
+
+	/** <p>Parser positioned before the next element.</p> */
+	private final JsonParser m_Parser;
+	/** <p>Reader to bind elements with.</p> */
+	private final ObjectReader m_Reader;
+	/** <p>Maximum number of elements per chunk.</p> */
+	private final int m_ChunkSize;
+	/** <p>Flag to indicate that the elements are enclosed in a JSON array, rather than newline delimited.</p> */
+	private final boolean m_Array;
+	/** <p>The request body, to report malformed elements.</p> */
+	private final HttpInputMessage m_Input;
+	/** <p>Flag to indicate that iteration started.</p> */
+	private boolean m_Iterated = false;
+
+
+	/** <p>Creates a new batch.</p>
+	 *
+	 * @param Parser Parser positioned before the first element, i.e. after the start of the array if enclosed in one.
+	 * @param Reader Reader to bind elements with.
+	 * @param ChunkSize Maximum number of elements per chunk.
+	 * @param Array {@code true} if elements are enclosed in a JSON array, {@code false} if newline delimited.
+	 * @param Input The request body.
+	 */
+	CJsonBatch(JsonParser Parser, ObjectReader Reader, int ChunkSize, boolean Array, HttpInputMessage Input) {
+		m_Parser = Parser;
+		m_Reader = Reader;
+		m_ChunkSize = ChunkSize;
+		m_Array = Array;
+		m_Input = Input;
+	}
+
+
+	/** <p>Returns the chunks of elements. The last chunk may be smaller, and no chunk is empty. The parser is closed once all chunks were read; callers stopping early shall {@link #close()} the batch.</p>
+	 *
+	 * @return Iterator over the chunks.
+	 * @throws IllegalStateException If the batch was iterated already.
+	 */
+	@Override public Iterator<List<T>> iterator() {
+		if (m_Iterated) { throw new IllegalStateException("Batch can be iterated only once"); }
+		m_Iterated = true;
+		return new Iterator<List<T>>() {
+			private List<T> m_Next = null;
+
+			@Override public boolean hasNext() {
+				if (null == m_Next) { m_Next = readChunk(); }
+				return !m_Next.isEmpty();
+			}
+
+			@Override public List<T> next() {
+				if (!hasNext()) { throw new NoSuchElementException(); }
+				List<T> result = m_Next;
+				m_Next = null;
+				return result;
+			}
+		};
+	}
+
+
+	/** <p>Passes all chunks to the given processor and collects the results. The parser is closed afterwards, also if the processor fails.</p>
+	 *
+	 * @param Processor The processor to pass the chunks to.
+	 * @return The results of all elements in order of the elements.
+	 */
+	public <R> List<R> process(IChunkProcessor<T, R> Processor) {
+		try {
+			List<R> result = new ArrayList<>();
+			for (List<T> chunk : this) { result.addAll(Processor.process(chunk)); }
+			return result;
+		} finally { closeQuietly(); }
+	}
+
+
+	@Override public void close() throws IOException { m_Parser.close(); }
+
+
+	/** <p>Closes the parser, ignoring failures as the request body is not read anymore.</p> */
+	void closeQuietly() {
+		try { m_Parser.close(); } catch (IOException Ignore) { /* nothing to recover */ }
+	}
+
+
+	/** <p>Reads the next chunk of elements.</p>
+	 *
+	 * @return The elements, or an empty list if there are no more.
+	 */
+	private List<T> readChunk() {
+		try {
+			List<T> result = null;
+			while ((null == result) || (result.size() < m_ChunkSize)) {
+				JsonToken token = m_Parser.nextToken();
+				if ((null == token) || (m_Array && (JsonToken.END_ARRAY == token))) {
+					close();
+					break;
+				}
+				if (null == result) { result = new ArrayList<>(Math.min(m_ChunkSize, 1024)); }
+				result.add(m_Reader.<T>readValue(m_Parser));
+			}
+			return (null == result) ? Collections.<T>emptyList() : result;
+		} catch (IOException Ex) { throw new HttpMessageNotReadableException("Malformed batch element: " + Ex.getMessage(), Ex, m_Input); }
+	}
+}
@@ -0,0 +1,82 @@
+package name.liwuest.util.rest;
+
+import java.lang.reflect.Type;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/** <p>Resolves {@link CJsonBatch} parameters of handler methods mapped with {@link JsonBatchPostMapping} from the request body.</p>
+ *
+ * <p>The body is a JSON array of elements, or newline delimited JSON if the content type is {@value CNdjsonReturnValueHandler#APPLICATION_NDJSON_VALUE}. Elements are bound to the type argument of the parameter, e.g. {@code CJsonBatch<CItem>}, in chunks of {@link JsonBatchPostMapping#chunkSize()}. Register with {@code WebMvcConfigurer.addArgumentResolvers}.</p>
+ *
+ * <p>Register the resolver as interceptor, too, e.g. with {@code InterceptorRegistry.addInterceptor}, to close the parser of the batch on completion of the request, also if the handler method fails or does not read all elements.</p>
+ *
+ * @author Bjoern Wuest, Germany
+ * @version 2026-10-16
+ */
+public class CJsonBatchArgumentResolver implements HandlerInterceptor, HandlerMethodArgumentResolver {
+	/** <p>Chunk size if the handler method is not annotated with {@link JsonBatchPostMapping}.</p> */
+	private final static int DEFAULT_CHUNK_SIZE = 1000;
+	/** <p>Name of the request attribute holding the batch resolved for the request.</p> */
+	private final static String BATCH_ATTRIBUTE = CJsonBatchArgumentResolver.class.getName() + ".BATCH";
+
+
+	/** <p>Mapper to parse elements with.</p> */
+	private final ObjectMapper m_Mapper;
+
+
+	/** <p>Creates a new resolver with a default {@link ObjectMapper}.</p> */
+	public CJsonBatchArgumentResolver() { this(new ObjectMapper()); }
+
+
+	/** <p>Creates a new resolver.</p>
+	 *
+	 * @param Mapper The mapper to parse elements with, e.g. the one configured for the application.
+	 */
+	public CJsonBatchArgumentResolver(ObjectMapper Mapper) { m_Mapper = Mapper; }
+
+
+	@Override public boolean supportsParameter(MethodParameter Parameter) { return CJsonBatch.class == Parameter.getParameterType(); }
+
+
+	@Override public Object resolveArgument(MethodParameter Parameter, ModelAndViewContainer Container, NativeWebRequest Request, WebDataBinderFactory BinderFactory) throws Exception {
+		HttpServletRequest request = Request.getNativeRequest(HttpServletRequest.class);
+		ServletServerHttpRequest input = new ServletServerHttpRequest(request);
+		JsonBatchPostMapping mapping = (null == Parameter.getMethod()) ? null : AnnotatedElementUtils.findMergedAnnotation(Parameter.getMethod(), JsonBatchPostMapping.class);
+		int chunkSize = (null == mapping) ? DEFAULT_CHUNK_SIZE : mapping.chunkSize();
+		if (0 >= chunkSize) { throw new IllegalStateException("Chunk size must be positive: " + chunkSize); }
+		ResolvableType element = ResolvableType.forMethodParameter(Parameter).getGeneric(0);
+		Type type = (null == element.resolve()) ? Object.class : element.getType();
+		String contentType = request.getContentType();
+		boolean array = (null == contentType) || !contentType.trim().toLowerCase().startsWith(CNdjsonReturnValueHandler.APPLICATION_NDJSON_VALUE);
+		JsonParser parser = m_Mapper.getFactory().createParser(request.getInputStream());
+		if (array && (JsonToken.START_ARRAY != parser.nextToken())) {
+			parser.close();
+			throw new HttpMessageNotReadableException("Batch must be a JSON array", input);
+		}
+		CJsonBatch<?> result = new CJsonBatch<>(parser, m_Mapper.readerFor(m_Mapper.getTypeFactory().constructType(type)), chunkSize, array, input);
+		request.setAttribute(BATCH_ATTRIBUTE, result);
+		return result;
+	}
+
+
+	@Override public void afterCompletion(HttpServletRequest Request, HttpServletResponse Response, Object Handler, Exception Ex) throws Exception {
+		Object batch = Request.getAttribute(BATCH_ATTRIBUTE);
+		if (batch instanceof CJsonBatch) { ((CJsonBatch<?>)batch).closeQuietly(); }
+	}
+}
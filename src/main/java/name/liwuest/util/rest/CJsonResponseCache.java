@@ -0,0 +1,224 @@
+package name.liwuest.util.rest;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.security.Principal;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.MediaType;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import name.liwuest.util.types.CPair;
+import name.liwuest.util.types.CTimedSoftReference;
+
+/** <p>Server side cache of the serialized responses of handler methods annotated with {@link JsonCacheable}, with ETags and conditional requests.</p>
+ *
+ * <p>As return value handler, the cache serializes the return value to JSON, keeps the bytes with their ETag per handler method, request path and query in a {@link CTimedSoftReference} cleared after the time to live of the annotation or on heap pressure, and writes the response. As interceptor, it answers later requests from the cache without invoking the handler method. Requests with a matching {@code If-None-Match} header are answered with {@code 304 Not Modified} and no body.</p>
+ *
+ * <p>Only {@code GET} and {@code HEAD} requests are answered from and stored in the cache. Responses are keyed by handler method, request path and query, plus the values of the request headers listed in {@link JsonCacheable#vary()}, which are announced with a {@code Vary} header. Requests of an authenticated user, or carrying an {@code Authorization} header, are not cached unless enabled with {@link JsonCacheable#authenticated()}, and then per user.</p>
+ *
+ * <p>Only handler methods whose declared return type is a plain body are cached. Return types carrying status and headers, e.g. {@link HttpEntity} and {@code ResponseEntity}, as well as {@link Optional} and asynchronous results are left to the return value handlers of Spring MVC.</p>
+ *
+ * <p>Register the cache both as interceptor, e.g. with {@code InterceptorRegistry.addInterceptor}, and with {@link #register(RequestMappingHandlerAdapter)} as return value handler, since Spring MVC consults custom return value handlers after its own only.</p>
+ *
+ * @author Bjoern Wuest, Germany
+ * @version 2026-10-16
+ */
+public class CJsonResponseCache implements HandlerInterceptor, HandlerMethodReturnValueHandler {
+	/** <p>Serialized response.</p> */
+	private final static class CCachedResponse {
+		private final byte[] m_Body;
+		private final String m_ETag;
+
+		private CCachedResponse(byte[] Body, String ETag) {
+			m_Body = Body;
+			m_ETag = ETag;
+		}
+	}
+
+
+	/** <p>Number of responses stored between two removals of expired entries.</p> */
+	private final static int SWEEP_INTERVAL = 1024;
+	/** <p>Return types whose values are not plain bodies, i.e. carry status and headers or complete asynchronously.</p> */
+	private final static Class<?>[] NON_BODY_TYPES = { void.class, Void.class, HttpEntity.class, Optional.class, ModelAndView.class, Callable.class, CompletionStage.class, Future.class, DeferredResult.class, WebAsyncTask.class, ResponseBodyEmitter.class, StreamingResponseBody.class };
+
+
+	/** <p>Writer to serialize return values with.</p> */
+	private final ObjectWriter m_Writer;
+	/** <p>Cached responses per handler method, request path and query.</p> */
+	private final ConcurrentHashMap<CPair<Method, String>, CTimedSoftReference<CCachedResponse>> m_Entries = new ConcurrentHashMap<>();
+	/** <p>Number of responses stored, to remove expired entries regularly.</p> */
+	private final AtomicInteger m_Stores = new AtomicInteger();
+
+
+	/** <p>Creates a new cache serializing with a default {@link ObjectMapper}.</p> */
+	public CJsonResponseCache() { this(new ObjectMapper()); }
+
+
+	/** <p>Creates a new cache.</p>
+	 *
+	 * @param Mapper The mapper to serialize return values with, e.g. the one configured for the application.
+	 */
+	public CJsonResponseCache(ObjectMapper Mapper) { m_Writer = Mapper.writer(); }
+
+
+	/** <p>Puts this cache in front of all return value handlers of the given adapter.</p>
+	 *
+	 * @param Adapter The initialized adapter.
+	 * @return This instance.
+	 * @throws IllegalStateException If the adapter is not initialized yet.
+	 */
+	public CJsonResponseCache register(RequestMappingHandlerAdapter Adapter) {
+		CNdjsonReturnValueHandler.prepend(Adapter, this);
+		return this;
+	}
+
+
+	/** <p>Removes all cached responses, e.g. after the data they were created from changed.</p>
+	 *
+	 * @return This instance.
+	 */
+	public CJsonResponseCache clear() {
+		for (CTimedSoftReference<CCachedResponse> entry : m_Entries.values()) { entry.clear(); }
+		m_Entries.clear();
+		return this;
+	}
+
+
+	/** <p>Returns the number of cached responses. Responses expired or garbage collected but not yet removed are counted, too.</p>
+	 *
+	 * @return The number of cached responses.
+	 */
+	public int size() { return m_Entries.size(); }
+
+
+	@Override public boolean preHandle(HttpServletRequest Request, HttpServletResponse Response, Object Handler) throws Exception {
+		if (!(Handler instanceof HandlerMethod)) { return true; }
+		Method method = ((HandlerMethod)Handler).getMethod();
+		JsonCacheable settings = settings(method);
+		if ((null == settings) || !isBody(method.getReturnType()) || !isCacheable(settings, Request)) { return true; }
+		CPair<Method, String> key = key(method, settings, Request);
+		CTimedSoftReference<CCachedResponse> entry = m_Entries.get(key);
+		CCachedResponse cached = (null == entry) ? null : entry.get();
+		if (null == cached) {
+			if (null != entry) { m_Entries.remove(key, entry); }
+			return true;
+		}
+		write(cached, settings, Request, Response);
+		return false;
+	}
+
+
+	@Override public boolean supportsReturnType(MethodParameter ReturnType) { return (null != ReturnType.getMethod()) && (null != settings(ReturnType.getMethod())) && isBody(ReturnType.getParameterType()); }
+
+
+	@Override public void handleReturnValue(Object ReturnValue, MethodParameter ReturnType, ModelAndViewContainer Container, NativeWebRequest Request) throws Exception {
+		Container.setRequestHandled(true);
+		if (null == ReturnValue) { return; }
+		HttpServletRequest request = Request.getNativeRequest(HttpServletRequest.class);
+		byte[] body = m_Writer.writeValueAsBytes(ReturnValue);
+		// Same form as created by Spring's ShallowEtagHeaderFilter
+		CCachedResponse response = new CCachedResponse(body, "\"0" + DigestUtils.md5DigestAsHex(body) + "\"");
+		JsonCacheable settings = settings(ReturnType.getMethod());
+		if (isCacheable(settings, request)) {
+			m_Entries.put(key(ReturnType.getMethod(), settings, request), new CTimedSoftReference<>(response, settings.ttl(), settings.timeunit(), false));
+			if (0 == (m_Stores.incrementAndGet() % SWEEP_INTERVAL)) { sweep(); }
+		}
+		write(response, settings, request, Request.getNativeResponse(HttpServletResponse.class));
+	}
+
+
+	/** <p>Writes the given cached response, or {@code 304 Not Modified} if the client has it already.</p> */
+	private static void write(CCachedResponse Cached, JsonCacheable Settings, HttpServletRequest Request, HttpServletResponse Response) throws IOException {
+		Response.setHeader("ETag", Cached.m_ETag);
+		if (0 < Settings.vary().length) { Response.setHeader("Vary", String.join(", ", Settings.vary())); }
+		if (matches(Request.getHeader("If-None-Match"), Cached.m_ETag)) {
+			Response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+			return;
+		}
+		Response.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+		Response.setContentLength(Cached.m_Body.length);
+		if (!"HEAD".equals(Request.getMethod())) { Response.getOutputStream().write(Cached.m_Body); }
+	}
+
+
+	/** <p>Returns if the given {@code If-None-Match} header matches the given ETag, comparing weakly as required for {@code GET} and {@code HEAD}.</p> */
+	private static boolean matches(String IfNoneMatch, String ETag) {
+		if (null == IfNoneMatch) { return false; }
+		for (String tag : IfNoneMatch.split(",")) {
+			tag = tag.trim();
+			if (tag.startsWith("W/")) { tag = tag.substring(2); }
+			if ("*".equals(tag) || ETag.equals(tag)) { return true; }
+		}
+		return false;
+	}
+
+
+	/** <p>Returns if responses to the given request are answered from and stored in the cache.</p> */
+	private static boolean isCacheable(JsonCacheable Settings, HttpServletRequest Request) {
+		if (!"GET".equals(Request.getMethod()) && !"HEAD".equals(Request.getMethod())) { return false; }
+		// Responses to authenticated requests may depend on the user, so cache them only if enabled, and then per user
+		if (null != Request.getUserPrincipal()) { return Settings.authenticated(); }
+		return null == Request.getHeader("Authorization");
+	}
+
+
+	/** <p>Returns if values of the given declared return type are plain bodies serialized by this cache.</p> */
+	private static boolean isBody(Class<?> ReturnType) {
+		for (Class<?> type : NON_BODY_TYPES) { if (type.isAssignableFrom(ReturnType)) { return false; } }
+		return true;
+	}
+
+
+	/** <p>Returns the cache settings of the given handler method, or {@code null} if its responses are not cached.</p> */
+	private static JsonCacheable settings(Method Handler) { return AnnotatedElementUtils.findMergedAnnotation(Handler, JsonCacheable.class); }
+
+
+	/** <p>Returns the key of the response of the given handler method to the given request, i.e. path and query, the values of the headers the response varies by, and the user if authenticated.</p> */
+	private static CPair<Method, String> key(Method Handler, JsonCacheable Settings, HttpServletRequest Request) {
+		StringBuilder result = new StringBuilder(Request.getRequestURI());
+		String query = Request.getQueryString();
+		if (null != query) { result.append('?').append(query); }
+		for (String header : Settings.vary()) {
+			String value = Request.getHeader(header);
+			result.append('\n').append(header).append(':').append((null == value) ? "" : value);
+		}
+		Principal user = Request.getUserPrincipal();
+		if (null != user) { result.append("\n@").append(user.getName()); }
+		return new CPair<>(Handler, result.toString());
+	}
+
+
+	/** <p>Removes all entries whose response expired or was garbage collected.</p> */
+	private void sweep() {
+		for (Iterator<CTimedSoftReference<CCachedResponse>> entries = m_Entries.values().iterator(); entries.hasNext();) {
+			if (entries.next().isCleared()) { entries.remove(); }
+		}
+	}
+}
@@ -0,0 +1,129 @@
+package name.liwuest.util.rest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/** <p>Writes the {@link Stream}, {@link Iterator} or {@link Iterable} returned by handler methods mapped with {@link JsonStreamGetMapping} as newline delimited JSON, i.e. one JSON document per element and line.</p>
+ *
+ * <p>Elements are serialized one by one directly to the response, so memory is bounded by the output buffers instead of the size of the result. The response is flushed after the first element to get it to the client early, later elements are sent whenever the buffers are full. A returned {@link Stream}, or any other {@link AutoCloseable}, is closed when written completely or on failure.</p>
+ *
+ * <p>Spring MVC consults custom return value handlers only after its own, which handle the return values of {@code @RestController} methods already. Hence the handler must be put in front with {@link #register(RequestMappingHandlerAdapter)} once the adapter is initialized, e.g. in a {@code @PostConstruct} method of a configuration.</p>
+ *
+ * @author Bjoern Wuest, Germany
+ * @version 2026-10-16
+ */
+public class CNdjsonReturnValueHandler implements HandlerMethodReturnValueHandler {
+	/** <p>Media type of newline delimited JSON.</p> */
+	public final static String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+
+	/** <p>Mapper to create generators with.</p> */
+	private final ObjectMapper m_Mapper;
+	/** <p>Writer to serialize elements with, without flushing after every element.</p> */
+	private final ObjectWriter m_Writer;
+
+
+	/** <p>Creates a new handler with a default {@link ObjectMapper}.</p> */
+	public CNdjsonReturnValueHandler() { this(new ObjectMapper()); }
+
+
+	/** <p>Creates a new handler.</p>
+	 *
+	 * @param Mapper The mapper to serialize elements with, e.g. the one configured for the application.
+	 */
+	public CNdjsonReturnValueHandler(ObjectMapper Mapper) {
+		m_Mapper = Mapper;
+		m_Writer = Mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE).without(SerializationFeature.INDENT_OUTPUT);
+	}
+
+
+	/** <p>Puts this handler in front of all return value handlers of the given adapter.</p>
+	 *
+	 * @param Adapter The initialized adapter.
+	 * @return This instance.
+	 * @throws IllegalStateException If the adapter is not initialized yet.
+	 */
+	public CNdjsonReturnValueHandler register(RequestMappingHandlerAdapter Adapter) {
+		prepend(Adapter, this);
+		return this;
+	}
+
+
+	@Override public boolean supportsReturnType(MethodParameter ReturnType) {
+		Class<?> type = ReturnType.getParameterType();
+		if (!Stream.class.isAssignableFrom(type) && !Iterator.class.isAssignableFrom(type) && !Iterable.class.isAssignableFrom(type)) { return false; }
+		return AnnotatedElementUtils.hasAnnotation(ReturnType.getMethod(), JsonStreamGetMapping.class) || AnnotatedElementUtils.hasAnnotation(ReturnType.getContainingClass(), JsonStreamGetMapping.class);
+	}
+
+
+	@Override public void handleReturnValue(Object ReturnValue, MethodParameter ReturnType, ModelAndViewContainer Container, NativeWebRequest Request) throws Exception {
+		Container.setRequestHandled(true);
+		try {
+			HttpServletResponse response = Request.getNativeResponse(HttpServletResponse.class);
+			response.setContentType(APPLICATION_NDJSON_VALUE);
+			response.setCharacterEncoding("UTF-8");
+			Iterator<?> items = iterator(ReturnValue);
+			JsonGenerator generator = m_Mapper.getFactory().createGenerator(response.getOutputStream(), JsonEncoding.UTF8);
+			generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			generator.setRootValueSeparator(null);
+			boolean first = true;
+			while (items.hasNext()) {
+				m_Writer.writeValue(generator, items.next());
+				generator.writeRaw('\n');
+				if (first) {
+					generator.flush();
+					first = false;
+				}
+			}
+			generator.close();
+		} finally { if (ReturnValue instanceof AutoCloseable) { ((AutoCloseable)ReturnValue).close(); } }
+	}
+
+
+	/** <p>Returns the elements of the given return value.</p>
+	 *
+	 * @param ReturnValue A {@link Stream}, {@link Iterator}, {@link Iterable} or {@code null}.
+	 * @return Iterator over the elements.
+	 */
+	private static Iterator<?> iterator(Object ReturnValue) {
+		if (null == ReturnValue) { return Collections.emptyIterator(); }
+		if (ReturnValue instanceof Stream) { return ((Stream<?>)ReturnValue).iterator(); }
+		if (ReturnValue instanceof Iterator) { return (Iterator<?>)ReturnValue; }
+		return ((Iterable<?>)ReturnValue).iterator();
+	}
+
+
+	/** <p>Puts the given handler in front of all return value handlers of the given adapter.</p>
+	 *
+	 * @param Adapter The initialized adapter.
+	 * @param Handler The handler to put in front.
+	 * @throws IllegalStateException If the adapter is not initialized yet.
+	 */
+	static void prepend(RequestMappingHandlerAdapter Adapter, HandlerMethodReturnValueHandler Handler) {
+		List<HandlerMethodReturnValueHandler> handlers = Adapter.getReturnValueHandlers();
+		// Setting handlers before initialization would replace the default handlers
+		if (null == handlers) { throw new IllegalStateException("Handler adapter not initialized yet"); }
+		List<HandlerMethodReturnValueHandler> result = new ArrayList<>(handlers.size() + 1);
+		result.add(Handler);
+		result.addAll(handlers);
+		Adapter.setReturnValueHandlers(result);
+	}
+}
@@ -0,0 +1,26 @@
+package name.liwuest.util.rest;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.core.annotation.AliasFor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+
+/** <p>Batch counterpart to {@link JsonPostMapping}, consuming a JSON array or newline delimited JSON of many elements. The elements are passed to a {@link CJsonBatch} parameter of the handler method in chunks of {@link #chunkSize()}, parsed incrementally by {@link CJsonBatchArgumentResolver}.</p> */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@RequestMapping(method = RequestMethod.POST, consumes = {MediaType.APPLICATION_JSON_VALUE, CNdjsonReturnValueHandler.APPLICATION_NDJSON_VALUE}, produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+public @interface JsonBatchPostMapping {
+    @AliasFor(annotation = RequestMapping.class, attribute = "value") String[] value() default {};
+    @AliasFor(annotation = RequestMapping.class, attribute = "path") String[] path() default {};
+    @AliasFor(annotation = RequestMapping.class, attribute = "method") RequestMethod[] method() default {};
+    @AliasFor(annotation = RequestMapping.class, attribute = "params") String[] params() default {};
+    @AliasFor(annotation = RequestMapping.class, attribute = "headers") String[] headers() default {};
+    @AliasFor(annotation = RequestMapping.class, attribute = "consumes") String[] consumes() default {};
+    @AliasFor(annotation = RequestMapping.class, attribute = "produces") String[] produces() default {};
+    int chunkSize() default 1000;
+}
@@ -0,0 +1,20 @@
+package name.liwuest.util.rest;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/** <p>Companion to {@link JsonGetMapping} to keep the serialized response in {@link CJsonResponseCache} for the given time to live, per request path and query.</p>
+ *
+ * <p>The response must not depend on anything else of the request but the headers listed in {@link #vary()}. Requests of authenticated users are cached only if {@link #authenticated()} is set, and then per user. The declared return type must be a plain body, e.g. not {@code ResponseEntity}, otherwise the response is not cached.</p>
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface JsonCacheable {
+    long ttl() default 60;
+    TimeUnit timeunit() default TimeUnit.SECONDS;
+    String[] vary() default {};
+    boolean authenticated() default false;
+}
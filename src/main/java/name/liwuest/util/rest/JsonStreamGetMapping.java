@@ -0,0 +1,24 @@
+package name.liwuest.util.rest;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.core.annotation.AliasFor;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+
+/** <p>Streaming counterpart to {@link JsonGetMapping}, producing newline delimited JSON. Handler methods return a {@link java.util.stream.Stream}, {@link java.util.Iterator} or {@link Iterable}, which is written element by element by {@link CNdjsonReturnValueHandler}.</p> */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@RequestMapping(method = RequestMethod.GET, produces = CNdjsonReturnValueHandler.APPLICATION_NDJSON_VALUE)
+public @interface JsonStreamGetMapping {
+    @AliasFor(annotation = RequestMapping.class, attribute = "value") String[] value() default {};
+    @AliasFor(annotation = RequestMapping.class, attribute = "path") String[] path() default {};
+    @AliasFor(annotation = RequestMapping.class, attribute = "method") RequestMethod[] method() default {};
+    @AliasFor(annotation = RequestMapping.class, attribute = "params") String[] params() default {};
+    @AliasFor(annotation = RequestMapping.class, attribute = "headers") String[] headers() default {};
+    @AliasFor(annotation = RequestMapping.class, attribute = "consumes") String[] consumes() default {};
+    @AliasFor(annotation = RequestMapping.class, attribute = "produces") String[] produces() default {};
+}
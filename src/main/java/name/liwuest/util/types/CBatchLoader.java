@@ -0,0 +1,142 @@
+package name.liwuest.util.types;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/** <p>Coalesces concurrent single object loads into bulk loads, e.g. to regain thousands of objects cleared by the same garbage collection with few database queries instead of one query each.</p>
+ *
+ * <p>The first thread requesting a key opens a batch and waits for the coalescing window; keys requested by other threads meanwhile join the batch. When the window elapses or the batch reaches its maximum size, all keys are loaded with one invocation of the {@link IBatchInstantiator} and all waiting threads are served. Concurrent requests for the same key within a batch are loaded once.</p>
+ *
+ * <p>The loader serves as {@link CSoftReferenceCache.IInstantiator} directly, and provides a {@link CSoftReference.IInstantiator} per key with {@link #instantiator(Object)}.</p>
+ *
+ * @author Bjoern Wuest, Germany
+ * @version 2026-10-16
+ * @param <K> The type of keys.
+ * @param <V> The type of loaded objects.
+ */
+public class CBatchLoader<K, V> implements CSoftReferenceCache.IInstantiator<K, V> {
+	/** <p>Interface to implement bulk object provisioning.</p>
+	 *
+	 * @author Bjoern Wuest, Germany
+	 * @version 2026-10-16
+	 *
+	 * @param <K> The type of keys.
+	 * @param <V> The type of loaded objects.
+	 */
+	public interface IBatchInstantiator<K, V> {
+		/** <p>Implementation shall return the objects for the given keys.</p>
+		 *
+		 * @param Keys The keys to create the objects for, without duplicates.
+		 * @return The objects by key. Keys without object may be missing.
+		 */
+		public Map<K, V> createInstances(Collection<K> Keys);
+	}
+
+
+	/** <p>Keys collected for one bulk load.</p> */
+	private final static class CBatch<K, V> {
+		/** <p>Results of the keys in order of request.</p> */
+		private final LinkedHashMap<K, CompletableFuture<V>> m_Keys = new LinkedHashMap<>();
+		/** <p>Thread waiting for the coalescing window to elapse.</p> */
+		private final Thread m_Leader = Thread.currentThread();
+	}
+
+
+	/** <p>Implementation to load objects in bulk.</p> */
+	private final IBatchInstantiator<K, V> m_Instantiator;
+	/** <p>Time to wait for further keys in nanoseconds.</p> */
+	private final long m_WindowNanos;
+	/** <p>Maximum number of keys per bulk load.</p> */
+	private final int m_MaxBatchSize;
+	/** <p>Batch currently open for further keys, or {@code null}.</p> */
+	private CBatch<K, V> m_Current = null;
+
+
+	/** <p>Creates a new loader.</p>
+	 *
+	 * @param Instantiator Implementation to load objects in bulk.
+	 * @param Window Time to wait for further keys after the first key of a batch was requested.
+	 * @param Timeunit The unit of time given in parameter {@code Window}.
+	 * @param MaxBatchSize Maximum number of keys per bulk load. A batch is loaded immediately once it reaches this size.
+	 */
+	public CBatchLoader(IBatchInstantiator<K, V> Instantiator, long Window, TimeUnit Timeunit, int MaxBatchSize) {
+		if (0 >= MaxBatchSize) { throw new IllegalArgumentException("Maximum batch size must be positive: " + MaxBatchSize); }
+		m_Instantiator = Instantiator;
+		m_WindowNanos = Math.max(0, Timeunit.toNanos(Window));
+		m_MaxBatchSize = MaxBatchSize;
+	}
+
+
+	/** <p>Returns an instantiator regaining the object of the given key through this loader, to be used with {@link CSoftReference}.</p>
+	 *
+	 * @param Key The key of the object.
+	 * @return The instantiator.
+	 */
+	public CSoftReference.IInstantiator<V> instantiator(final K Key) {
+		return new CSoftReference.IInstantiator<V>() { @Override public V createInstance() { return CBatchLoader.this.createInstance(Key); } };
+	}
+
+
+	/** <p>Loads the object for the given key as part of a bulk load, waiting for the coalescing window if this is the first key of the batch.</p>
+	 *
+	 * @param Key The key to load the object for.
+	 * @return The loaded object, or {@code null} if there is none.
+	 */
+	@Override public V createInstance(K Key) {
+		CBatch<K, V> batch;
+		CompletableFuture<V> result;
+		boolean full = false;
+		synchronized (this) {
+			if (null == m_Current) { m_Current = new CBatch<>(); }
+			batch = m_Current;
+			result = batch.m_Keys.get(Key);
+			if (null == result) {
+				result = new CompletableFuture<>();
+				batch.m_Keys.put(Key, result);
+			}
+			if (batch.m_Keys.size() >= m_MaxBatchSize) {
+				m_Current = null;
+				full = true;
+			}
+		}
+		if (full) {
+			LockSupport.unpark(batch.m_Leader);
+			dispatch(batch);
+		} else if (Thread.currentThread() == batch.m_Leader) {
+			long deadline = System.nanoTime() + m_WindowNanos;
+			boolean close = true;
+			for (long remaining = m_WindowNanos; 0 < remaining; remaining = deadline - System.nanoTime()) {
+				synchronized (this) { if (m_Current != batch) { close = false; break; } }
+				LockSupport.parkNanos(this, remaining);
+			}
+			if (close) {
+				synchronized (this) {
+					close = (m_Current == batch);
+					if (close) { m_Current = null; }
+				}
+				if (close) { dispatch(batch); }
+			}
+		}
+		return CSoftReferenceCache.await(result);
+	}
+
+
+	/** <p>Loads all keys of the given batch and serves the waiting threads.</p>
+	 *
+	 * @param Batch The batch to load, no longer open for further keys.
+	 */
+	private void dispatch(CBatch<K, V> Batch) {
+		try {
+			Map<K, V> result = m_Instantiator.createInstances(new ArrayList<>(Batch.m_Keys.keySet()));
+			for (Map.Entry<K, CompletableFuture<V>> key : Batch.m_Keys.entrySet()) { key.getValue().complete((null == result) ? null : result.get(key.getKey())); }
+		} catch (RuntimeException | Error Ex) {
+			for (CompletableFuture<V> key : Batch.m_Keys.values()) { key.completeExceptionally(Ex); }
+			throw Ex;
+		}
+	}
+}
@@ -0,0 +1,87 @@
+package name.liwuest.util.types;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/** <p>{@link IExpiryScheduler} delegating to a given {@link ScheduledExecutorService}, e.g. to share the threads of an executor of the application.</p>
+ *
+ * <p>Unlike {@link CTimingWheel}, every task is scheduled with the executor individually, so this scheduler is not meant for very large numbers of references.</p>
+ *
+ * <p>The scheduler keeps track of its own tasks, so {@link #shutdown()} cancels them even if the executor is shared and kept running. Tasks scheduled afterwards are not accepted, i.e. their handle is done right away.</p>
+ *
+ * @author Bjoern Wuest, Germany
+ * @version 2026-10-16
+ */
+public class CExecutorExpiryScheduler implements IExpiryScheduler {
+	/** <p>Handle of a task scheduled with the executor.</p> */
+	private final class CTimeout implements ITimeout, Runnable {
+		/** <p>The task to run.</p> */
+		private final Runnable m_Task;
+		/** <p>The task as scheduled with the executor, or {@code null} if rejected.</p> */
+		private volatile ScheduledFuture<?> m_Future;
+
+		private CTimeout(Runnable Task) { m_Task = Task; }
+
+		@Override public void run() { if (m_Scheduled.remove(this)) { m_Task.run(); } }
+		@Override public boolean cancel() {
+			if (!m_Scheduled.remove(this)) { return false; }
+			ScheduledFuture<?> future = m_Future;
+			if (null != future) { future.cancel(false); }
+			return true;
+		}
+		@Override public boolean isDone() { return !m_Scheduled.contains(this); }
+	}
+
+
+	/** <p>The executor to schedule the tasks with.</p> */
+	private final ScheduledExecutorService m_Executor;
+	/** <p>Flag to indicate that {@link #shutdown()} shall shut the executor down, too.</p> */
+	private final boolean m_ShutdownExecutor;
+	/** <p>Tasks scheduled and neither run nor cancelled.</p> */
+	private final Set<CTimeout> m_Scheduled = ConcurrentHashMap.newKeySet();
+	/** <p>Flag to indicate that {@link #shutdown()} was invoked.</p> */
+	private volatile boolean m_Stopped = false;
+
+
+	/** <p>Creates a new scheduler.</p>
+	 *
+	 * @param Executor The executor to schedule the tasks with.
+	 * @param ShutdownExecutor Set to {@code true} to shut the executor down on {@link #shutdown()}, or to {@code false} if the executor is shut down by its owner.
+	 */
+	public CExecutorExpiryScheduler(ScheduledExecutorService Executor, boolean ShutdownExecutor) {
+		m_Executor = Executor;
+		m_ShutdownExecutor = ShutdownExecutor;
+	}
+
+
+	@Override public ITimeout schedule(Runnable Task, long Delay, TimeUnit Timeunit) {
+		CTimeout result = new CTimeout(Task);
+		if (m_Stopped) { return result; }
+		m_Scheduled.add(result);
+		try { result.m_Future = m_Executor.schedule(result, Delay, Timeunit); }
+		catch (RejectedExecutionException Ex) {
+			m_Scheduled.remove(result);
+			return result;
+		}
+		// Shutdown may have passed over the task while it was scheduled
+		if (m_Stopped) { result.cancel(); }
+		return result;
+	}
+
+
+	@Override public long nanoTime() { return System.nanoTime(); }
+
+
+	@Override public long pending() { return m_Scheduled.size(); }
+
+
+	@Override public void shutdown() {
+		m_Stopped = true;
+		for (CTimeout timeout : m_Scheduled) { timeout.cancel(); }
+		if (m_ShutdownExecutor) { m_Executor.shutdownNow(); }
+	}
+}
@@ -0,0 +1,59 @@
+package name.liwuest.util.types;
+
+/** <p>Immutable pair with int left hand side and int right hand side, avoiding the boxing of {@link CPair}.</p>
+ * 
+ * <p>Pairs are ordered by their left hand side like {@link CPair#compareTo(CPair)}.</p>
+ * 
+ * @author Bjoern Wuest, Germany
+ * @version 2026-10-16
+ */
+public class CIntIntPair implements Comparable<CIntIntPair> {
+	/** <p>Left hand side of pair.</p> */
+	protected int p_Left;
+	/** <p>Right hand side of pair.</p> */
+	protected int p_Right;
+	
+	
+	/** <p>Create new instance.</p>
+	 * 
+	 * @param Left Left hand side of pair.
+	 * @param Right Right hand side of pair.
+	 */
+	public CIntIntPair(int Left, int Right) {
+		p_Left = Left;
+		p_Right = Right;
+	}
+	
+	
+	/** <p>Get left hand side of pair.</p>
+	 * 
+	 * @return Left hand side of pair.
+	 */
+	public final int getLeft() { return p_Left; }
+	
+	
+	/** <p>Get right hand side of pair.</p>
+	 * 
+	 * @return Right hand side of pair.
+	 */
+	public final int getRight() { return p_Right; }
+	
+	
+	/** <p>Get boxed copy of this pair.</p>
+	 * 
+	 * @return New {@link CPair} with the same left and right hand side.
+	 */
+	public CPair<Integer, Integer> toPair() { return new CPair<>(p_Left, p_Right); }
+	
+	
+	@Override public boolean equals(Object O) {
+		if (O instanceof CIntIntPair) {
+			CIntIntPair p = (CIntIntPair)O;
+			return (p_Left == p.p_Left) && (p_Right == p.p_Right);
+		}
+		return false;
+	}
+	@Override public int hashCode() { return CPair.hash(p_Left, p_Right); }
+	@Override public int compareTo(CIntIntPair o) { return Integer.compare(p_Left, o.p_Left); }
+	@Override public String toString() { return "(" + p_Left + ", " + p_Right + ")"; }
+}
@@ -0,0 +1,62 @@
+package name.liwuest.util.types;
+
+import java.util.Objects;
+
+/** <p>Immutable pair with int left hand side and object right hand side, avoiding the boxing of {@link CPair}.</p>
+ * 
+ * <p>Pairs are ordered by their left hand side like {@link CPair#compareTo(CPair)}.</p>
+ * 
+ * @author Bjoern Wuest, Germany
+ * @version 2026-10-16
+ * @param <U> Type of right hand side of pair.
+ */
+public class CIntPair<U> implements Comparable<CIntPair<?>> {
+	/** <p>Left hand side of pair.</p> */
+	protected int p_Left;
+	/** <p>Right hand side of pair.</p> */
+	protected U p_Right;
+	
+	
+	/** <p>Create new instance.</p>
+	 * 
+	 * @param Left Left hand side of pair.
+	 * @param Right Right hand side of pair.
+	 */
+	public CIntPair(int Left, U Right) {
+		p_Left = Left;
+		p_Right = Right;
+	}
+	
+	
+	/** <p>Get left hand side of pair.</p>
+	 * 
+	 * @return Left hand side of pair.
+	 */
+	public final int getLeft() { return p_Left; }
+	
+	
+	/** <p>Get right hand side of pair.</p>
+	 * 
+	 * @return Right hand side of pair.
+	 */
+	public final U getRight() { return p_Right; }
+	
+	
+	/** <p>Get boxed copy of this pair.</p>
+	 * 
+	 * @return New {@link CPair} with the same left and right hand side.
+	 */
+	public CPair<Integer, U> toPair() { return new CPair<>(p_Left, p_Right); }
+	
+	
+	@Override public boolean equals(Object O) {
+		if (O instanceof CIntPair) {
+			CIntPair<?> p = (CIntPair<?>)O;
+			return (p_Left == p.p_Left) && Objects.equals(p_Right, p.p_Right);
+		}
+		return false;
+	}
+	@Override public int hashCode() { return CPair.hash(p_Left, Objects.hashCode(p_Right)); }
+	@Override public int compareTo(CIntPair<?> o) { return Integer.compare(p_Left, o.p_Left); }
+	@Override public String toString() { return "(" + p_Left + ", " + p_Right + ")"; }
+}
@@ -0,0 +1,35 @@
+package name.liwuest.util.types;
+
+/** <p>Canonical pair of a {@link CPairInterner}, created by the interner only.</p>
+ *
+ * <p>Knowing its interner lets two canonical pairs of the same interner compare by identity. Plain pairs do not carry the interner, so they do not grow by interning being supported.</p>
+ *
+ * @author Bjoern Wuest, Germany
+ * @version 2026-10-16
+ * @param <T> Type of left hand side of pair.
+ * @param <U> Type of right hand side of pair.
+ */
+final class CInternedPair<T, U> extends CPair<T, U> {
+	/** <p>The interner this pair is the canonical instance of.</p> */
+	final CPairInterner<?, ?> m_Interner;
+
+
+	/** <p>Create new canonical instance of an interner.</p>
+	 *
+	 * @param Left Left hand side of pair.
+	 * @param Right Right hand side of pair.
+	 * @param Hash The hash code of the pair.
+	 * @param Interner The interner the pair is interned by.
+	 */
+	CInternedPair(T Left, U Right, int Hash, CPairInterner<?, ?> Interner) {
+		super(Left, Right, Hash);
+		m_Interner = Interner;
+	}
+
+
+	@Override public boolean equals(Object O) {
+		// Distinct canonical instances of the same interner are never equal
+		if ((O instanceof CInternedPair) && (m_Interner == ((CInternedPair<?, ?>)O).m_Interner)) { return this == O; }
+		return super.equals(O);
+	}
+}
@@ -0,0 +1,59 @@
+package name.liwuest.util.types;
+
+/** <p>Immutable pair with long left hand side and long right hand side, avoiding the boxing of {@link CPair}.</p>
+ * 
+ * <p>Pairs are ordered by their left hand side like {@link CPair#compareTo(CPair)}.</p>
+ * 
+ * @author Bjoern Wuest, Germany
+ * @version 2026-10-16
+ */
+public class CLongLongPair implements Comparable<CLongLongPair> {
+	/** <p>Left hand side of pair.</p> */
+	protected long p_Left;
+	/** <p>Right hand side of pair.</p> */
+	protected long p_Right;
+	
+	
+	/** <p>Create new instance.</p>
+	 * 
+	 * @param Left Left hand side of pair.
+	 * @param Right Right hand side of pair.
+	 */
+	public CLongLongPair(long Left, long Right) {
+		p_Left = Left;
+		p_Right = Right;
+	}
+	
+	
+	/** <p>Get left hand side of pair.</p>
+	 * 
+	 * @return Left hand side of pair.
+	 */
+	public final long getLeft() { return p_Left; }
+	
+	
+	/** <p>Get right hand side of pair.</p>
+	 * 
+	 * @return Right hand side of pair.
+	 */
+	public final long getRight() { return p_Right; }
+	
+	
+	/** <p>Get boxed copy of this pair.</p>
+	 * 
+	 * @return New {@link CPair} with the same left and right hand side.
+	 */
+	public CPair<Long, Long> toPair() { return new CPair<>(p_Left, p_Right); }
+	
+	
+	@Override public boolean equals(Object O) {
+		if (O instanceof CLongLongPair) {
+			CLongLongPair p = (CLongLongPair)O;
+			return (p_Left == p.p_Left) && (p_Right == p.p_Right);
+		}
+		return false;
+	}
+	@Override public int hashCode() { return CPair.hash(Long.hashCode(p_Left), Long.hashCode(p_Right)); }
+	@Override public int compareTo(CLongLongPair o) { return Long.compare(p_Left, o.p_Left); }
+	@Override public String toString() { return "(" + p_Left + ", " + p_Right + ")"; }
+}
@@ -0,0 +1,62 @@
+package name.liwuest.util.types;
+
+import java.util.Objects;
+
+/** <p>Immutable pair with long left hand side and object right hand side, avoiding the boxing of {@link CPair}.</p>
+ * 
+ * <p>Pairs are ordered by their left hand side like {@link CPair#compareTo(CPair)}.</p>
+ * 
+ * @author Bjoern Wuest, Germany
+ * @version 2026-10-16
+ * @param <U> Type of right hand side of pair.
+ */
+public class CLongPair<U> implements Comparable<CLongPair<?>> {
+	/** <p>Left hand side of pair.</p> */
+	protected long p_Left;
+	/** <p>Right hand side of pair.</p> */
+	protected U p_Right;
+	
+	
+	/** <p>Create new instance.</p>
+	 * 
+	 * @param Left Left hand side of pair.
+	 * @param Right Right hand side of pair.
+	 */
+	public CLongPair(long Left, U Right) {
+		p_Left = Left;
+		p_Right = Right;
+	}
+	
+	
+	/** <p>Get left hand side of pair.</p>
+	 * 
+	 * @return Left hand side of pair.
+	 */
+	public final long getLeft() { return p_Left; }
+	
+	
+	/** <p>Get right hand side of pair.</p>
+	 * 
+	 * @return Right hand side of pair.
+	 */
+	public final U getRight() { return p_Right; }
+	
+	
+	/** <p>Get boxed copy of this pair.</p>
+	 * 
+	 * @return New {@link CPair} with the same left and right hand side.
+	 */
+	public CPair<Long, U> toPair() { return new CPair<>(p_Left, p_Right); }
+	
+	
+	@Override public boolean equals(Object O) {
+		if (O instanceof CLongPair) {
+			CLongPair<?> p = (CLongPair<?>)O;
+			return (p_Left == p.p_Left) && Objects.equals(p_Right, p.p_Right);
+		}
+		return false;
+	}
+	@Override public int hashCode() { return CPair.hash(Long.hashCode(p_Left), Objects.hashCode(p_Right)); }
+	@Override public int compareTo(CLongPair<?> o) { return Long.compare(p_Left, o.p_Left); }
+	@Override public String toString() { return "(" + p_Left + ", " + p_Right + ")"; }
+}
@@ -0,0 +1,267 @@
+package name.liwuest.util.types;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/** <p>List of pairs with long left hand side storing left and right hand sides in parallel arrays, i.e. the columnar counterpart to {@link CLongPair}.</p>
+ *
+ * <p>The list can be sorted by left hand side like {@link CLongPair#compareTo(CLongPair)}, sequentially or in parallel using fork/join. Sorting is stable, i.e. pairs with equal left hand sides keep their relative order. Elements can be iterated without allocation using an {@link IVisitor} or by index.</p>
+ *
+ * <p>The list is not thread-safe.</p>
+ *
+ * @author Bjoern Wuest, Germany
+ * @version 2026-10-16
+ * @param <U> Type of right hand sides of pairs.
+ */
+public class CLongPairList<U> {
+	/** <p>Interface to implement to visit all pairs of a list.</p>
+	 *
+	 * @author Bjoern Wuest, Germany
+	 * @version 2026-10-16
+	 *
+	 * @param <U> Type of right hand sides of pairs.
+	 */
+	public interface IVisitor<U> {
+		/** <p>Implementation shall process the given pair.</p>
+		 *
+		 * @param Left Left hand side of pair.
+		 * @param Right Right hand side of pair.
+		 */
+		public void visit(long Left, U Right);
+	}
+
+
+	/** <p>Parallel merge sort of a range, splitting into fork/join tasks while the range is large enough.</p> */
+	private final static class CSort extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private final long[] m_SrcLefts, m_DstLefts;
+		private final Object[] m_SrcRights, m_DstRights;
+		private final int m_Low, m_High;
+
+		private CSort(long[] SrcLefts, Object[] SrcRights, long[] DstLefts, Object[] DstRights, int Low, int High) {
+			m_SrcLefts = SrcLefts;
+			m_SrcRights = SrcRights;
+			m_DstLefts = DstLefts;
+			m_DstRights = DstRights;
+			m_Low = Low;
+			m_High = High;
+		}
+
+		@Override protected void compute() {
+			if (CPairList.PARALLEL_THRESHOLD > m_High - m_Low) { mergeSort(m_SrcLefts, m_SrcRights, m_DstLefts, m_DstRights, m_Low, m_High); return; }
+			int mid = (m_Low + m_High) >>> 1;
+			invokeAll(new CSort(m_DstLefts, m_DstRights, m_SrcLefts, m_SrcRights, m_Low, mid), new CSort(m_DstLefts, m_DstRights, m_SrcLefts, m_SrcRights, mid, m_High));
+			merge(m_SrcLefts, m_SrcRights, m_DstLefts, m_DstRights, m_Low, mid, m_High);
+		}
+	}
+
+
+	/** <p>Left hand sides of pairs.</p> */
+	private long[] m_Lefts;
+	/** <p>Right hand sides of pairs.</p> */
+	private Object[] m_Rights;
+	/** <p>Number of pairs in the list.</p> */
+	private int m_Size = 0;
+
+
+	/** <p>Creates a new, empty list.</p> */
+	public CLongPairList() { this(10); }
+
+
+	/** <p>Creates a new, empty list.</p>
+	 *
+	 * @param InitialCapacity The number of pairs the list can hold before growing.
+	 */
+	public CLongPairList(int InitialCapacity) {
+		if (0 > InitialCapacity) { throw new IllegalArgumentException("Initial capacity must not be negative: " + InitialCapacity); }
+		m_Lefts = new long[InitialCapacity];
+		m_Rights = new Object[InitialCapacity];
+	}
+
+
+	/** <p>Appends a pair to the list.</p>
+	 *
+	 * @param Left Left hand side of pair.
+	 * @param Right Right hand side of pair.
+	 * @return This instance.
+	 */
+	public CLongPairList<U> add(long Left, U Right) {
+		if (m_Lefts.length == m_Size) { grow(); }
+		m_Lefts[m_Size] = Left;
+		m_Rights[m_Size++] = Right;
+		return this;
+	}
+
+
+	/** <p>Appends a pair to the list.</p>
+	 *
+	 * @param Pair The pair to append.
+	 * @return This instance.
+	 */
+	public CLongPairList<U> add(CLongPair<? extends U> Pair) { return add(Pair.getLeft(), Pair.getRight()); }
+
+
+	/** <p>Replaces the pair at the given position.</p>
+	 *
+	 * @param Index The position of the pair.
+	 * @param Left Left hand side of pair.
+	 * @param Right Right hand side of pair.
+	 * @return This instance.
+	 */
+	public CLongPairList<U> set(int Index, long Left, U Right) {
+		checkIndex(Index);
+		m_Lefts[Index] = Left;
+		m_Rights[Index] = Right;
+		return this;
+	}
+
+
+	/** <p>Get left hand side of pair at the given position.</p>
+	 *
+	 * @param Index The position of the pair.
+	 * @return Left hand side of pair.
+	 */
+	public long getLeft(int Index) {
+		checkIndex(Index);
+		return m_Lefts[Index];
+	}
+
+
+	/** <p>Get right hand side of pair at the given position.</p>
+	 *
+	 * @param Index The position of the pair.
+	 * @return Right hand side of pair.
+	 */
+	@SuppressWarnings("unchecked") public U getRight(int Index) {
+		checkIndex(Index);
+		return (U)m_Rights[Index];
+	}
+
+
+	/** <p>Get pair at the given position. This allocates a new {@link CLongPair}, use {@link #getLeft(int)} and {@link #getRight(int)} to avoid it.</p>
+	 *
+	 * @param Index The position of the pair.
+	 * @return New pair with left and right hand side at the position.
+	 */
+	public CLongPair<U> get(int Index) { return new CLongPair<>(getLeft(Index), getRight(Index)); }
+
+
+	/** <p>Returns the number of pairs in the list.</p>
+	 *
+	 * @return The number of pairs in the list.
+	 */
+	public int size() { return m_Size; }
+
+
+	/** <p>Returns if the list is empty.</p>
+	 *
+	 * @return {@code true} if the list holds no pair, {@code false} otherwise.
+	 */
+	public boolean isEmpty() { return 0 == m_Size; }
+
+
+	/** <p>Removes all pairs from the list.</p>
+	 *
+	 * @return This instance.
+	 */
+	public CLongPairList<U> clear() {
+		Arrays.fill(m_Rights, 0, m_Size, null);
+		m_Size = 0;
+		return this;
+	}
+
+
+	/** <p>Calls the given visitor for every pair in the list in order.</p>
+	 *
+	 * @param Visitor The visitor to call.
+	 */
+	@SuppressWarnings("unchecked") public void forEach(IVisitor<? super U> Visitor) {
+		long[] lefts = m_Lefts;
+		Object[] rights = m_Rights;
+		for (int i = 0, size = m_Size; i < size; i++) { Visitor.visit(lefts[i], (U)rights[i]); }
+	}
+
+
+	/** <p>Sorts the list stable by left hand side in ascending order.</p>
+	 *
+	 * @return This instance.
+	 */
+	public CLongPairList<U> sort() {
+		mergeSort(Arrays.copyOf(m_Lefts, m_Size), Arrays.copyOf(m_Rights, m_Size), m_Lefts, m_Rights, 0, m_Size);
+		return this;
+	}
+
+
+	/** <p>Sorts the list like {@link #sort()}, but in parallel using the common {@link ForkJoinPool}.</p>
+	 *
+	 * @return This instance.
+	 */
+	public CLongPairList<U> parallelSort() {
+		if (CPairList.PARALLEL_THRESHOLD > m_Size) { return sort(); }
+		ForkJoinPool.commonPool().invoke(new CSort(Arrays.copyOf(m_Lefts, m_Size), Arrays.copyOf(m_Rights, m_Size), m_Lefts, m_Rights, 0, m_Size));
+		return this;
+	}
+
+
+	@Override public String toString() {
+		StringBuilder result = new StringBuilder("[");
+		for (int i = 0; i < m_Size; i++) { result.append((0 == i) ? "(" : ", (").append(m_Lefts[i]).append(", ").append(m_Rights[i]).append(')'); }
+		return result.append(']').toString();
+	}
+
+
+	/** <p>Sorts the given range of the destination arrays, using the source arrays holding the same elements as scratch space.</p> */
+	private static void mergeSort(long[] SrcLefts, Object[] SrcRights, long[] DstLefts, Object[] DstRights, int Low, int High) {
+		if (CPairList.INSERTION_THRESHOLD > High - Low) {
+			for (int i = Low + 1; i < High; i++) {
+				long left = DstLefts[i];
+				Object right = DstRights[i];
+				int j = i - 1;
+				for (; (j >= Low) && (DstLefts[j] > left); j--) {
+					DstLefts[j + 1] = DstLefts[j];
+					DstRights[j + 1] = DstRights[j];
+				}
+				DstLefts[j + 1] = left;
+				DstRights[j + 1] = right;
+			}
+			return;
+		}
+		int mid = (Low + High) >>> 1;
+		mergeSort(DstLefts, DstRights, SrcLefts, SrcRights, Low, mid);
+		mergeSort(DstLefts, DstRights, SrcLefts, SrcRights, mid, High);
+		merge(SrcLefts, SrcRights, DstLefts, DstRights, Low, mid, High);
+	}
+
+
+	/** <p>Merges the sorted ranges of the source arrays into the destination arrays.</p> */
+	private static void merge(long[] SrcLefts, Object[] SrcRights, long[] DstLefts, Object[] DstRights, int Low, int Mid, int High) {
+		// Ranges already in order are copied
+		if (SrcLefts[Mid - 1] <= SrcLefts[Mid]) {
+			System.arraycopy(SrcLefts, Low, DstLefts, Low, High - Low);
+			System.arraycopy(SrcRights, Low, DstRights, Low, High - Low);
+			return;
+		}
+		for (int i = Low, p = Low, q = Mid; i < High; i++) {
+			if ((q >= High) || ((p < Mid) && (SrcLefts[p] <= SrcLefts[q]))) {
+				DstLefts[i] = SrcLefts[p];
+				DstRights[i] = SrcRights[p++];
+			} else {
+				DstLefts[i] = SrcLefts[q];
+				DstRights[i] = SrcRights[q++];
+			}
+		}
+	}
+
+
+	/** <p>Grows the arrays by half of their length.</p> */
+	private void grow() {
+		int capacity = CPairList.newCapacity(m_Lefts.length);
+		m_Lefts = Arrays.copyOf(m_Lefts, capacity);
+		m_Rights = Arrays.copyOf(m_Rights, capacity);
+	}
+
+
+	/** <p>Checks that the given position is within the list.</p> */
+	private void checkIndex(int Index) { if ((0 > Index) || (m_Size <= Index)) { throw new IndexOutOfBoundsException("Index: " + Index + ", Size: " + m_Size); } }
+}
@@ -0,0 +1,108 @@
+package name.liwuest.util.types;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/** <p>{@link IExpiryScheduler} without any thread, which runs tasks only when its clock is advanced explicitly, e.g. in tests.</p>
+ *
+ * <p>The clock starts at {@code 0} and is advanced by {@link #advance(long, TimeUnit)} only. Tasks are run on the thread advancing the clock, in order of their deadline.</p>
+ *
+ * @author Bjoern Wuest, Germany
+ * @version 2026-10-16
+ */
+public class CManualExpiryScheduler implements IExpiryScheduler {
+	/** <p>Task waiting for the clock to reach its deadline.</p> */
+	private final static class CTimeout implements ITimeout, Comparable<CTimeout> {
+		private final static int PENDING = 0, CANCELLED = 1, RUNNING = 2, EXPIRED = 3;
+		@SuppressWarnings("rawtypes") private final static AtomicIntegerFieldUpdater<CTimeout> m_StateUpdater = AtomicIntegerFieldUpdater.newUpdater(CTimeout.class, "m_State");
+
+		/** <p>The task to run.</p> */
+		private final Runnable m_Task;
+		/** <p>Deadline of the task.</p> */
+		private final long m_Deadline;
+		/** <p>Sequence number to run tasks of same deadline in order of scheduling.</p> */
+		private final long m_Sequence;
+		/** <p>State of the task.</p> */
+		private volatile int m_State = PENDING;
+
+		private CTimeout(Runnable Task, long Deadline, long Sequence) {
+			m_Task = Task;
+			m_Deadline = Deadline;
+			m_Sequence = Sequence;
+		}
+
+		@Override public boolean cancel() { return m_StateUpdater.compareAndSet(this, PENDING, CANCELLED); }
+		@Override public boolean isDone() { int state = m_State; return (CANCELLED == state) || (EXPIRED == state); }
+		@Override public int compareTo(CTimeout o) {
+			int result = Long.compare(m_Deadline, o.m_Deadline);
+			return (0 != result) ? result : Long.compare(m_Sequence, o.m_Sequence);
+		}
+	}
+
+
+	/** <p>Tasks ordered by deadline.</p> */
+	private final PriorityQueue<CTimeout> m_Tasks = new PriorityQueue<>();
+	/** <p>The current point in time.</p> */
+	private volatile long m_Now = 0;
+	/** <p>Number of tasks scheduled so far.</p> */
+	private long m_Sequence = 0;
+	/** <p>Flag to indicate that the scheduler was shut down.</p> */
+	private boolean m_Shutdown = false;
+
+
+	@Override public synchronized ITimeout schedule(Runnable Task, long Delay, TimeUnit Timeunit) {
+		long delay = Math.max(0, Timeunit.toNanos(Delay));
+		CTimeout result = new CTimeout(Task, (Long.MAX_VALUE - m_Now < delay) ? Long.MAX_VALUE : m_Now + delay, m_Sequence++);
+		if (m_Shutdown) { result.cancel(); }
+		else { m_Tasks.add(result); }
+		return result;
+	}
+
+
+	@Override public long nanoTime() { return m_Now; }
+
+
+	@Override public synchronized long pending() {
+		long result = 0;
+		for (CTimeout timeout : m_Tasks) { if (CTimeout.PENDING == timeout.m_State) { result++; } }
+		return result;
+	}
+
+
+	@Override public synchronized void shutdown() {
+		m_Shutdown = true;
+		m_Tasks.clear();
+	}
+
+
+	/** <p>Advances the clock by the given time and runs all tasks due until then, including tasks scheduled by the tasks run.</p>
+	 *
+	 * @param Time The time to advance the clock by.
+	 * @param Timeunit The unit of time given in parameter {@code Time}.
+	 * @return The number of tasks run.
+	 */
+	public int advance(long Time, TimeUnit Timeunit) {
+		long target;
+		synchronized (this) { target = m_Now + Math.max(0, Timeunit.toNanos(Time)); }
+		int result = 0;
+		while (true) {
+			CTimeout timeout;
+			synchronized (this) {
+				timeout = m_Tasks.peek();
+				if ((null == timeout) || (timeout.m_Deadline > target)) {
+					m_Now = target;
+					return result;
+				}
+				m_Tasks.poll();
+				// Let tasks observe the clock at their deadline
+				m_Now = Math.max(m_Now, timeout.m_Deadline);
+			}
+			if (CTimeout.m_StateUpdater.compareAndSet(timeout, CTimeout.PENDING, CTimeout.RUNNING)) {
+				try { timeout.m_Task.run(); }
+				finally { timeout.m_State = CTimeout.EXPIRED; }
+				result++;
+			}
+		}
+	}
+}
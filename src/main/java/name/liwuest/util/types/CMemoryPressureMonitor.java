@@ -0,0 +1,282 @@
+package name.liwuest.util.types;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryNotificationInfo;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+
+/** <p>Clears objects referenced by registered {@link CSoftReference} instances early, when the heap occupancy after garbage collection exceeds a high watermark, instead of waiting for the garbage collector to clear all soft references at once.</p>
+ *
+ * <p>The monitor sets the collection usage threshold of the tenured heap pools to the high watermark. When notified that the threshold is exceeded, it clears the objects of a fraction of the registered references, waits for the next garbage collection and repeats until the heap occupancy after garbage collection falls below the low watermark. References with lower priority are cleared first; among references of same priority, references whose object was not accessed recently are cleared first (second chance approximation of least recently used).</p>
+ *
+ * <p>Objects are cleared like the garbage collector does, i.e. references with an {@link CSoftReference.IInstantiator} regain their object on next access. References are registered weakly, so registration does not keep them alive.</p>
+ *
+ * @author Bjoern Wuest, Germany
+ * @version 2026-10-16
+ */
+public class CMemoryPressureMonitor {
+	/** <p>Weak registration of a reference.</p> */
+	private final static class CEntry extends WeakReference<CSoftReference<?>> {
+		/** <p>Priority of the reference, lower priorities are cleared first.</p> */
+		private final int m_Priority;
+
+		private CEntry(CSoftReference<?> Ref, int Priority, ReferenceQueue<CSoftReference<?>> Queue) {
+			super(Ref, Queue);
+			m_Priority = Priority;
+		}
+	}
+
+
+	/** <p>Order of entries in which they are cleared.</p> */
+	private final static Comparator<CEntry> m_ByPriority = new Comparator<CEntry>() { @Override public int compare(CEntry o1, CEntry o2) { return Integer.compare(o1.m_Priority, o2.m_Priority); } };
+
+	/** <p>Registered references.</p> */
+	private final Set<CEntry> m_Entries = ConcurrentHashMap.newKeySet();
+	/** <p>Queue receiving registrations of garbage collected references.</p> */
+	private final ReferenceQueue<CSoftReference<?>> m_Queue = new ReferenceQueue<>();
+	/** <p>Heap occupancy after garbage collection, as fraction of maximum heap pool size, that triggers clearing.</p> */
+	private final double m_HighWatermark;
+	/** <p>Heap occupancy after garbage collection, as fraction of maximum heap pool size, at which clearing stops.</p> */
+	private final double m_LowWatermark;
+	/** <p>Fraction of the registered references to clear per garbage collection.</p> */
+	private final double m_BatchFraction;
+	/** <p>The monitored heap pools.</p> */
+	private final List<MemoryPoolMXBean> m_Pools = new ArrayList<>();
+	/** <p>Collection usage thresholds of the monitored heap pools before monitoring started, restored when stopped.</p> */
+	private final List<Long> m_PreviousThresholds = new ArrayList<>();
+	/** <p>Listener for memory threshold notifications.</p> */
+	private final NotificationListener m_Listener = new NotificationListener() {
+		@Override public void handleNotification(Notification Notification, Object Handback) {
+			if (MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED.equals(Notification.getType())) { signal(); }
+		}
+	};
+	/** <p>Worker clearing references, or {@code null} if not started.</p> */
+	private Thread m_Worker = null;
+	/** <p>Flag to indicate that clearing shall start.</p> */
+	private boolean m_Signalled = false;
+	/** <p>Flag to indicate that the monitor was stopped.</p> */
+	private volatile boolean m_Stopped = false;
+
+
+	/** <p>Creates a new monitor, which clears 10% of the registered references per garbage collection.</p>
+	 *
+	 * @param HighWatermark Heap occupancy after garbage collection, as fraction of maximum heap pool size, that triggers clearing, e.g. {@code 0.8}.
+	 * @param LowWatermark Heap occupancy after garbage collection, as fraction of maximum heap pool size, at which clearing stops, e.g. {@code 0.6}.
+	 */
+	public CMemoryPressureMonitor(double HighWatermark, double LowWatermark) { this(HighWatermark, LowWatermark, 0.1); }
+
+
+	/** <p>Creates a new monitor.</p>
+	 *
+	 * @param HighWatermark Heap occupancy after garbage collection, as fraction of maximum heap pool size, that triggers clearing, e.g. {@code 0.8}.
+	 * @param LowWatermark Heap occupancy after garbage collection, as fraction of maximum heap pool size, at which clearing stops, e.g. {@code 0.6}.
+	 * @param BatchFraction Fraction of the registered references to clear per garbage collection, e.g. {@code 0.1}.
+	 */
+	public CMemoryPressureMonitor(double HighWatermark, double LowWatermark, double BatchFraction) {
+		if ((0 >= HighWatermark) || (1 < HighWatermark)) { throw new IllegalArgumentException("High watermark must be in (0, 1]: " + HighWatermark); }
+		if ((0 > LowWatermark) || (HighWatermark < LowWatermark)) { throw new IllegalArgumentException("Low watermark must be in [0, high watermark]: " + LowWatermark); }
+		if ((0 >= BatchFraction) || (1 < BatchFraction)) { throw new IllegalArgumentException("Batch fraction must be in (0, 1]: " + BatchFraction); }
+		m_HighWatermark = HighWatermark;
+		m_LowWatermark = LowWatermark;
+		m_BatchFraction = BatchFraction;
+	}
+
+
+	/** <p>Registers the given reference with default priority {@code 0}.</p>
+	 *
+	 * @param Ref The reference whose object may be cleared under memory pressure.
+	 * @return This instance.
+	 */
+	public CMemoryPressureMonitor register(CSoftReference<?> Ref) { return register(Ref, 0); }
+
+
+	/** <p>Registers the given reference. Registrations of references garbage collected meanwhile are removed.</p>
+	 *
+	 * @param Ref The reference whose object may be cleared under memory pressure.
+	 * @param Priority Priority of the reference, references with lower priority are cleared first.
+	 * @return This instance.
+	 */
+	public CMemoryPressureMonitor register(CSoftReference<?> Ref, int Priority) {
+		expunge();
+		m_Entries.add(new CEntry(Ref, Priority, m_Queue));
+		return this;
+	}
+
+
+	/** <p>Unregisters the given reference. Unregistering is linear in the number of registered references; references which are not used anymore need not be unregistered.</p>
+	 *
+	 * @param Ref The reference to unregister.
+	 * @return {@code true} if the reference was registered.
+	 */
+	public boolean unregister(CSoftReference<?> Ref) {
+		expunge();
+		boolean result = false;
+		for (Iterator<CEntry> it = m_Entries.iterator(); it.hasNext(); ) {
+			CSoftReference<?> ref = it.next().get();
+			if ((null == ref) || (Ref == ref)) {
+				it.remove();
+				result |= (Ref == ref);
+			}
+		}
+		return result;
+	}
+
+
+	/** <p>Starts monitoring the heap.</p>
+	 *
+	 * @return This instance.
+	 * @throws IllegalStateException If the monitor was started before, or if there is no heap pool supporting collection usage thresholds.
+	 */
+	public synchronized CMemoryPressureMonitor start() {
+		if ((null != m_Worker) || m_Stopped) { throw new IllegalStateException("Monitor was started before"); }
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			// Tenured pools support both kinds of thresholds, young pools do not
+			if ((MemoryType.HEAP == pool.getType()) && pool.isUsageThresholdSupported() && pool.isCollectionUsageThresholdSupported() && (0 < pool.getUsage().getMax())) {
+				m_PreviousThresholds.add(Long.valueOf(pool.getCollectionUsageThreshold()));
+				pool.setCollectionUsageThreshold((long)(pool.getUsage().getMax() * m_HighWatermark));
+				m_Pools.add(pool);
+			}
+		}
+		if (m_Pools.isEmpty()) { throw new IllegalStateException("No heap pool supports collection usage thresholds"); }
+		((NotificationEmitter)ManagementFactory.getMemoryMXBean()).addNotificationListener(m_Listener, null, null);
+		m_Worker = new Thread(new Runnable() { @Override public void run() { work(); } }, "CMemoryPressureMonitor");
+		m_Worker.setDaemon(true);
+		m_Worker.start();
+		return this;
+	}
+
+
+	/** <p>Stops monitoring the heap and restores the collection usage thresholds of the heap pools.</p> */
+	public synchronized void stop() {
+		if (m_Stopped || (null == m_Worker)) { m_Stopped = true; return; }
+		m_Stopped = true;
+		try { ((NotificationEmitter)ManagementFactory.getMemoryMXBean()).removeNotificationListener(m_Listener); } catch (ListenerNotFoundException Ignore) { /* not registered */ }
+		for (int i = 0; i < m_Pools.size(); i++) { m_Pools.get(i).setCollectionUsageThreshold(m_PreviousThresholds.get(i).longValue()); }
+		notifyAll();
+	}
+
+
+	/** <p>Clears the objects of one batch of registered references right away, regardless of the heap occupancy.</p>
+	 *
+	 * @return The number of references whose object was cleared.
+	 */
+	public int evict() {
+		expunge();
+		List<CEntry> entries = new ArrayList<>();
+		for (Iterator<CEntry> it = m_Entries.iterator(); it.hasNext(); ) {
+			CEntry entry = it.next();
+			CSoftReference<?> ref = entry.get();
+			if (null == ref) { it.remove(); }
+			else if (!ref.isCleared()) { entries.add(entry); }
+		}
+		if (entries.isEmpty()) { return 0; }
+		Collections.sort(entries, m_ByPriority);
+		int goal = Math.max(1, (int)Math.ceil(entries.size() * m_BatchFraction));
+		int result = 0;
+		for (int first = 0, end; (first < entries.size()) && (result < goal); first = end) {
+			// Find references of same priority
+			end = first + 1;
+			while ((end < entries.size()) && (entries.get(first).m_Priority == entries.get(end).m_Priority)) { end++; }
+			// First pass gives recently accessed references a second chance, second pass clears regardless
+			for (int pass = 0; (2 > pass) && (result < goal); pass++) {
+				for (int i = first; (i < end) && (result < goal); i++) {
+					CSoftReference<?> ref = entries.get(i).get();
+					if ((null == ref) || ((0 == pass) && ref.testAndResetAccessed())) { continue; }
+					if (ref.evict()) { result++; }
+				}
+			}
+		}
+		return result;
+	}
+
+
+	/** <p>Returns the heap occupancy after the last garbage collection, i.e. the maximum occupancy of all monitored pools.</p>
+	 *
+	 * @return The heap occupancy as fraction of maximum heap pool size.
+	 */
+	public double occupancy() {
+		double result = 0;
+		for (MemoryPoolMXBean pool : m_Pools) {
+			MemoryUsage usage = pool.getCollectionUsage();
+			if ((null != usage) && (0 < usage.getMax())) { result = Math.max(result, (double)usage.getUsed() / usage.getMax()); }
+		}
+		return result;
+	}
+
+
+	/** <p>Removes the registrations of all references that were garbage collected.</p> */
+	private void expunge() {
+		Reference<?> ref;
+		while (null != (ref = m_Queue.poll())) { m_Entries.remove(ref); }
+	}
+
+
+	/** <p>Wakes the worker up to clear references.</p> */
+	private synchronized void signal() {
+		m_Signalled = true;
+		notifyAll();
+	}
+
+
+	/** <p>Clears references whenever signalled until the heap occupancy falls below the low watermark.</p> */
+	private void work() {
+		while (!m_Stopped) {
+			synchronized (this) {
+				while (!m_Signalled && !m_Stopped) { try { wait(); } catch (InterruptedException Ignore) { /* re-check */ } }
+				m_Signalled = false;
+			}
+			while (!m_Stopped && (occupancy() > m_LowWatermark)) {
+				long collections = collections();
+				if (0 == evict()) { break; }
+				// Effect of clearing is visible only after next garbage collection; if none happens, there is no pressure
+				if (!awaitCollection(collections, 1, TimeUnit.SECONDS)) { break; }
+			}
+		}
+	}
+
+
+	/** <p>Returns the number of garbage collections so far.</p>
+	 *
+	 * @return The number of garbage collections of all collectors.
+	 */
+	private static long collections() {
+		long result = 0;
+		for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) { result += Math.max(0, gc.getCollectionCount()); }
+		return result;
+	}
+
+
+	/** <p>Waits for a garbage collection after the given number of collections.</p>
+	 *
+	 * @param Collections The number of collections so far.
+	 * @param Timeout The maximum time to wait.
+	 * @param Timeunit The unit of time given in parameter {@code Timeout}.
+	 * @return {@code true} if a garbage collection happened.
+	 */
+	private boolean awaitCollection(long Collections, long Timeout, TimeUnit Timeunit) {
+		long deadline = System.nanoTime() + Timeunit.toNanos(Timeout);
+		while (!m_Stopped && (collections() == Collections)) {
+			if (0 >= deadline - System.nanoTime()) { return false; }
+			try { Thread.sleep(10); } catch (InterruptedException Ignore) { /* re-check */ }
+		}
+		return !m_Stopped;
+	}
+}
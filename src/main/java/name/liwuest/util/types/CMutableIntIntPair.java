@@ -0,0 +1,29 @@
+package name.liwuest.util.types;
+
+/** <p>Mutable implementation of {@link CIntIntPair}.</p>
+ * 
+ * @author Bjoern Wuest, Germany
+ * @version 2026-10-16
+ */
+public class CMutableIntIntPair extends CIntIntPair {
+	/** <p>Create new instance.</p>
+	 * 
+	 * @param Left Left hand side of pair.
+	 * @param Right Right hand side of pair.
+	 */
+	public CMutableIntIntPair(int Left, int Right) { super(Left, Right); }
+	
+	
+	/** <p>Set new value for left hand side of pair.</p>
+	 * 
+	 * @param Left Left hand side of pair.
+	 */
+	public void setLeft(int Left) { p_Left = Left; }
+	
+	
+	/** <p>Set new value for right hand side of pair.</p>
+	 * 
+	 * @param Right Right hand side of pair.
+	 */
+	public void setRight(int Right) { p_Right = Right; }
+}
@@ -0,0 +1,30 @@
+package name.liwuest.util.types;
+
+/** <p>Mutable implementation of {@link CIntPair}.</p>
+ * 
+ * @author Bjoern Wuest, Germany
+ * @version 2026-10-16
+ * @param <U> Type of right hand side of pair.
+ */
+public class CMutableIntPair<U> extends CIntPair<U> {
+	/** <p>Create new instance.</p>
+	 * 
+	 * @param Left Left hand side of pair.
+	 * @param Right Right hand side of pair.
+	 */
+	public CMutableIntPair(int Left, U Right) { super(Left, Right); }
+	
+	
+	/** <p>Set new value for left hand side of pair.</p>
+	 * 
+	 * @param Left Left hand side of pair.
+	 */
+	public void setLeft(int Left) { p_Left = Left; }
+	
+	
+	/** <p>Set new value for right hand side of pair.</p>
+	 * 
+	 * @param Right Right hand side of pair.
+	 */
+	public void setRight(U Right) { p_Right = Right; }
+}
@@ -0,0 +1,29 @@
+package name.liwuest.util.types;
+
+/** <p>Mutable implementation of {@link CLongLongPair}.</p>
+ * 
+ * @author Bjoern Wuest, Germany
+ * @version 2026-10-16
+ */
+public class CMutableLongLongPair extends CLongLongPair {
+	/** <p>Create new instance.</p>
+	 * 
+	 * @param Left Left hand side of pair.
+	 * @param Right Right hand side of pair.
+	 */
+	public CMutableLongLongPair(long Left, long Right) { super(Left, Right); }
+	
+	
+	/** <p>Set new value for left hand side of pair.</p>
+	 * 
+	 * @param Left Left hand side of pair.
+	 */
+	public void setLeft(long Left) { p_Left = Left; }
+	
+	
+	/** <p>Set new value for right hand side of pair.</p>
+	 * 
+	 * @param Right Right hand side of pair.
+	 */
+	public void setRight(long Right) { p_Right = Right; }
+}
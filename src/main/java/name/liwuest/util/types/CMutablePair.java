@@ -1,5 +1,7 @@
 package name.liwuest.util.types;
 
+import java.util.Objects;
+
 /** <p>Mutable implementation of {@link CPair}.</p>
  * 
  * @author Bjoern Wuest, Germany
@@ -28,4 +30,8 @@ public class CMutablePair <T, U> extends CPair<T, U> {
 	 * @param Right Right hand side of pair.
 	 */
 	public void setRight(U Right) { p_Right = Right; }
+	
+	
+	/** <p>Computes the hash code of the current sides of the pair, i.e. it is not cached since the sides may change.</p> */
+	@Override public int hashCode() { return hash(Objects.hashCode(p_Left), Objects.hashCode(p_Right)); }
 }
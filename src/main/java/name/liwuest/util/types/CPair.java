@@ -1,6 +1,12 @@
 package name.liwuest.util.types;
 
+import java.util.Objects;
+
 /** <p>Immutable pair implementation.</p>
+ * 
+ * <p>The hash code mixes the hash codes of both sides, so pairs of small numbers or enumeration constants spread well in hash tables. It is computed once and cached, which requires subclasses changing the sides of the pair, like {@link CMutablePair}, to override {@link #hashCode()}.</p>
+ * 
+ * <p>Pairs obtained from a {@link CPairInterner} are unique per value within the interner, so two such pairs of the same interner are equal only if identical.</p>
  * 
  * @author Bjoern Wuest, Germany
  * @version 2011-12-20
@@ -12,6 +18,8 @@ package name.liwuest.util.types;
 	protected T p_Left;
 	/** <p>Right hand side of pair.</p> */
 	protected U p_Right;
+	/** <p>Cached hash code, or {@code 0} if not computed yet.</p> */
+	private int m_Hash = 0;
 	
 	
 	/** <p>Create new instance.</p>
@@ -25,6 +33,19 @@ package name.liwuest.util.types;
 	}
 	
 	
+	/** <p>Create new instance with the hash code computed already.</p>
+	 * 
+	 * @param Left Left hand side of pair.
+	 * @param Right Right hand side of pair.
+	 * @param Hash The hash code of the pair.
+	 */
+	CPair(T Left, U Right, int Hash) {
+		p_Left = Left;
+		p_Right = Right;
+		m_Hash = Hash;
+	}
+	
+	
 	/** <p>Get left hand side of pair.</p>
 	 * 
 	 * @return Left hand side of pair.
@@ -39,13 +60,36 @@ package name.liwuest.util.types;
 	public final U getRight() { return p_Right; }
 	
 	
+	/** <p>Returns a well mixed hash code of a pair of the given hash codes.</p>
+	 * 
+	 * @param Left Hash code of left hand side of pair.
+	 * @param Right Hash code of right hand side of pair.
+	 * @return The hash code of the pair.
+	 */
+	static int hash(int Left, int Right) {
+		// Both sides form a unique long, which is mixed by the SplitMix64 finalizer and folded
+		long h = ((long)Left << 32) | (Right & 0xFFFFFFFFL);
+		h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+		h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+		h ^= (h >>> 31);
+		return (int)(h ^ (h >>> 32));
+	}
+	
+	
 	@Override public boolean equals(Object O) {
+		if (this == O) { return true; }
 		if (O instanceof CPair) {
 			CPair<?, ?> p = (CPair<?, ?>)O;
-			return p_Left.equals(p.p_Left) && p_Right.equals(p.getRight());
+			// Differing cached hash codes prove inequality without comparing the sides
+			if ((0 != m_Hash) && (0 != p.m_Hash) && (m_Hash != p.m_Hash)) { return false; }
+			return Objects.equals(p_Left, p.p_Left) && Objects.equals(p_Right, p.p_Right);
 		}
 		return false;
 	}
-	@Override public int hashCode() { return p_Left.hashCode() | p_Right.hashCode(); }
+	@Override public int hashCode() {
+		int result = m_Hash;
+		if (0 == result) { m_Hash = result = hash(Objects.hashCode(p_Left), Objects.hashCode(p_Right)); }
+		return result;
+	}
 	@SuppressWarnings("unchecked") @Override public int compareTo(CPair<? extends Comparable, U> o) { return -o.getLeft().compareTo(p_Left); }
 }
@@ -0,0 +1,191 @@
+package name.liwuest.util.types;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Objects;
+
+/** <p>Factory returning canonical, immutable {@link CPair} instances, i.e. one instance per value.</p>
+ *
+ * <p>Interning frequently recurring pairs, e.g. map keys built per event, replaces a new pair per occurrence with a lookup that does not allocate. Interned pairs compare by identity when both are interned by the same interner, and have their hash code computed already.</p>
+ *
+ * <p>Canonical instances are held with weak references, so pairs no longer in use are garbage collected and removed from the interner. Lookups are lock-free, adding new pairs locks one of several segments only.</p>
+ *
+ * <p>Sides of interned pairs must be immutable, or at least must not change their {@link Object#equals(Object)} and {@link Object#hashCode()}.</p>
+ *
+ * @author Bjoern Wuest, Germany
+ * @version 2026-10-16
+ * @param <T> Type of left hand side of pairs.
+ * @param <U> Type of right hand side of pairs.
+ */
+public class CPairInterner<T, U> {
+	/** <p>Weak reference to a canonical pair, linked with the other entries of its bucket.</p> */
+	private final static class CEntry extends WeakReference<CPair<?, ?>> {
+		/** <p>Hash code of the pair.</p> */
+		private final int m_Hash;
+		/** <p>Next entry of the bucket.</p> */
+		private volatile CEntry m_Next;
+
+		private CEntry(CPair<?, ?> Pair, int Hash, CEntry Next, ReferenceQueue<? super CPair<?, ?>> Queue) {
+			super(Pair, Queue);
+			m_Hash = Hash;
+			m_Next = Next;
+		}
+	}
+
+
+	/** <p>Part of the interner with its own lock, hash table and reference queue.</p> */
+	private final static class CSegment {
+		/** <p>Buckets of the segment, replaced on resize.</p> */
+		private volatile CEntry[] m_Table = new CEntry[16];
+		/** <p>Queue receiving entries whose pair was garbage collected.</p> */
+		private final ReferenceQueue<CPair<?, ?>> m_Queue = new ReferenceQueue<>();
+		/** <p>Number of entries in the table, maintained under lock only.</p> */
+		private int m_Count = 0;
+
+		/** <p>Returns the canonical pair of the given value, or {@code null} if there is none, without locking.</p> */
+		private CPair<?, ?> find(Object Left, Object Right, int Hash) {
+			CEntry[] table = m_Table;
+			for (CEntry entry = table[Hash & (table.length - 1)]; null != entry; entry = entry.m_Next) {
+				if (Hash != entry.m_Hash) { continue; }
+				CPair<?, ?> pair = entry.get();
+				if ((null != pair) && Objects.equals(pair.p_Left, Left) && Objects.equals(pair.p_Right, Right)) { return pair; }
+			}
+			return null;
+		}
+
+		/** <p>Returns the canonical pair of the given value, adding it if there is none.</p> */
+		private synchronized CPair<?, ?> add(Object Left, Object Right, int Hash, CPairInterner<?, ?> Interner) {
+			CPair<?, ?> result = find(Left, Right, Hash);
+			if (null != result) { return result; }
+			expunge();
+			if (m_Count >= (m_Table.length - (m_Table.length >>> 2))) { resize(); }
+			result = new CInternedPair<>(Left, Right, Hash, Interner);
+			CEntry[] table = m_Table;
+			int index = Hash & (table.length - 1);
+			table[index] = new CEntry(result, Hash, table[index], m_Queue);
+			// Republish the table to make the new entry visible to lock-free lookups
+			m_Table = table;
+			m_Count++;
+			return result;
+		}
+
+		/** <p>Returns the number of entries, including entries whose pair was collected but not yet removed.</p> */
+		private synchronized int size() {
+			expunge();
+			return m_Count;
+		}
+
+		/** <p>Unlinks all entries whose pair was garbage collected, must be called under lock.</p> */
+		private void expunge() {
+			Reference<? extends CPair<?, ?>> ref;
+			while (null != (ref = m_Queue.poll())) {
+				CEntry entry = (CEntry)ref;
+				CEntry[] table = m_Table;
+				int index = entry.m_Hash & (table.length - 1);
+				CEntry prev = null;
+				for (CEntry e = table[index]; null != e; prev = e, e = e.m_Next) {
+					if (e != entry) { continue; }
+					// Lookups traversing the entry concurrently continue with its successor
+					if (null == prev) { table[index] = e.m_Next; } else { prev.m_Next = e.m_Next; }
+					m_Count--;
+					break;
+				}
+			}
+		}
+
+		/** <p>Doubles the table, must be called under lock. Entries are copied, so lookups traversing the old table are not disturbed.</p> */
+		private void resize() {
+			CEntry[] table = m_Table;
+			if ((1 << 30) <= table.length) { return; }
+			CEntry[] result = new CEntry[table.length << 1];
+			int count = 0;
+			for (CEntry head : table) {
+				for (CEntry entry = head; null != entry; entry = entry.m_Next) {
+					CPair<?, ?> pair = entry.get();
+					if (null == pair) { continue; }
+					int index = entry.m_Hash & (result.length - 1);
+					result[index] = new CEntry(pair, entry.m_Hash, result[index], m_Queue);
+					count++;
+				}
+			}
+			// Entries of the old table are enqueued eventually, but are not found in the new table anymore
+			m_Count = count;
+			m_Table = result;
+		}
+	}
+
+
+	/** <p>Segments of the interner.</p> */
+	private final CSegment[] m_Segments;
+	/** <p>Shift and mask of the hash code to select a segment.</p> */
+	private final int m_SegmentShift, m_SegmentMask;
+
+
+	/** <p>Creates a new interner with 16 segments.</p> */
+	public CPairInterner() { this(16); }
+
+
+	/** <p>Creates a new interner.</p>
+	 *
+	 * @param ConcurrencyLevel The expected number of threads adding new pairs concurrently, rounded up to the next power of two for the number of segments.
+	 */
+	public CPairInterner(int ConcurrencyLevel) {
+		if ((0 >= ConcurrencyLevel) || ((1 << 16) < ConcurrencyLevel)) { throw new IllegalArgumentException("Concurrency level must be between 1 and 2^16: " + ConcurrencyLevel); }
+		int bits = 32 - Integer.numberOfLeadingZeros(ConcurrencyLevel - 1);
+		m_Segments = new CSegment[1 << bits];
+		for (int i = 0; i < m_Segments.length; i++) { m_Segments[i] = new CSegment(); }
+		// Segments are selected by the upper bits, buckets within segments by the lower bits
+		m_SegmentShift = 32 - bits;
+		m_SegmentMask = m_Segments.length - 1;
+	}
+
+
+	/** <p>Returns the canonical pair of the given value. Does not allocate if the value was interned already.</p>
+	 *
+	 * @param Left Left hand side of pair.
+	 * @param Right Right hand side of pair.
+	 * @return The canonical, immutable pair.
+	 */
+	@SuppressWarnings("unchecked") public CPair<T, U> intern(T Left, U Right) {
+		int hash = CPair.hash(Objects.hashCode(Left), Objects.hashCode(Right));
+		CSegment segment = segment(hash);
+		CPair<?, ?> result = segment.find(Left, Right, hash);
+		if (null == result) { result = segment.add(Left, Right, hash, this); }
+		return (CPair<T, U>)result;
+	}
+
+
+	/** <p>Returns the canonical pair equal to the given pair.</p>
+	 *
+	 * @param Pair The pair to intern, may be a {@link CMutablePair} as the canonical pair is a copy of it.
+	 * @return The given pair if interned by this interner already, otherwise the canonical, immutable pair.
+	 */
+	@SuppressWarnings("unchecked") public CPair<T, U> intern(CPair<? extends T, ? extends U> Pair) {
+		if (isInterned(Pair)) { return (CPair<T, U>)Pair; }
+		return intern(Pair.getLeft(), Pair.getRight());
+	}
+
+
+	/** <p>Returns if the given pair is a canonical pair of this interner.</p>
+	 *
+	 * @param Pair The pair to check.
+	 * @return {@code true} if the pair was returned by this interner, {@code false} otherwise.
+	 */
+	public boolean isInterned(CPair<?, ?> Pair) { return (Pair instanceof CInternedPair) && (this == ((CInternedPair<?, ?>)Pair).m_Interner); }
+
+
+	/** <p>Returns the number of canonical pairs held. Pairs garbage collected but not yet detected as such are counted, too.</p>
+	 *
+	 * @return The number of canonical pairs.
+	 */
+	public int size() {
+		int result = 0;
+		for (CSegment segment : m_Segments) { result += segment.size(); }
+		return result;
+	}
+
+
+	/** <p>Returns the segment of the given hash code.</p> */
+	private CSegment segment(int Hash) { return m_Segments[(Hash >>> m_SegmentShift) & m_SegmentMask]; }
+}
@@ -0,0 +1,81 @@
+package name.liwuest.util.types;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/** <p>Holder of the {@link IReferenceMetrics} all references report to.</p>
+ *
+ * <p>By default, metrics are disabled, i.e. events are reported to an implementation doing nothing, which the JIT compiler inlines to (almost) nothing. {@link #enableJmx()} installs a {@link CStripedMetrics} and registers it as MXBean, alternatively any implementation can be installed with {@link #install(IReferenceMetrics)}.</p>
+ *
+ * @author Bjoern Wuest, Germany
+ * @version 2026-10-16
+ */
+public final class CReferenceMetrics {
+	/** <p>Name the MXBean is registered with by {@link #enableJmx()}.</p> */
+	public final static String OBJECT_NAME = "name.liwuest.util.types:type=ReferenceMetrics";
+	/** <p>Implementation doing nothing, i.e. disabled metrics.</p> */
+	public final static IReferenceMetrics DISABLED = new IReferenceMetrics() {
+		@Override public void recordHit() { /* disabled */ }
+		@Override public void recordMiss() { /* disabled */ }
+		@Override public void recordCollected() { /* disabled */ }
+		@Override public void recordLoad(long Nanos, boolean Success) { /* disabled */ }
+		@Override public void recordExpired() { /* disabled */ }
+	};
+
+	/** <p>The metrics currently reported to.</p> */
+	private static volatile IReferenceMetrics m_Current = DISABLED;
+
+
+	private CReferenceMetrics() { /* static only */ }
+
+
+	/** <p>Returns the metrics currently reported to.</p>
+	 *
+	 * @return The current metrics, {@link #DISABLED} if disabled.
+	 */
+	public static IReferenceMetrics current() { return m_Current; }
+
+
+	/** <p>Installs the given metrics to report to.</p>
+	 *
+	 * @param Metrics The metrics to report to, or {@code null} to disable metrics.
+	 * @return The previously installed metrics.
+	 */
+	public static IReferenceMetrics install(IReferenceMetrics Metrics) {
+		IReferenceMetrics result = m_Current;
+		m_Current = (null == Metrics) ? DISABLED : Metrics;
+		return result;
+	}
+
+
+	/** <p>Installs a new {@link CStripedMetrics} and registers it with the platform MBean server as {@value #OBJECT_NAME}, replacing a previously registered one.</p>
+	 *
+	 * @return The installed metrics.
+	 * @throws IllegalStateException If registering fails.
+	 */
+	public static synchronized CStripedMetrics enableJmx() {
+		CStripedMetrics result = new CStripedMetrics();
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(OBJECT_NAME);
+			if (server.isRegistered(name)) { server.unregisterMBean(name); }
+			server.registerMBean(result, name);
+		} catch (JMException Ex) { throw new IllegalStateException("Cannot register reference metrics", Ex); }
+		install(result);
+		return result;
+	}
+
+
+	/** <p>Disables metrics and unregisters the MXBean registered by {@link #enableJmx()}, if any.</p> */
+	public static synchronized void disable() {
+		install(null);
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(OBJECT_NAME);
+			if (server.isRegistered(name)) { server.unregisterMBean(name); }
+		} catch (JMException Ex) { throw new IllegalStateException("Cannot unregister reference metrics", Ex); }
+	}
+}
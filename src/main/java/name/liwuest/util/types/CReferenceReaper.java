@@ -0,0 +1,171 @@
+package name.liwuest.util.types;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/** <p>Service draining reference queues in batches on a single worker thread, and notifying the {@link IRemovalListener} of {@link CSoftReference}s.</p>
+ *
+ * <p>Soft references with a removal listener and without a queue of their own are registered with the queue of the {@link #getDefault() default reaper}. Queues given on construction of soft references, or any other queue, can be registered with {@link #register(ReferenceQueue, IHandler)}. The reaper then notifies the removal listeners of the soft references enqueued there as well, and passes every enqueued reference to the given handler, so no polling thread per queue is needed.</p>
+ *
+ * @author Bjoern Wuest, Germany
+ * @version 2026-10-16
+ */
+public final class CReferenceReaper {
+	/** <p>Interface to implement processing of references drained from a registered queue.</p>
+	 *
+	 * @author Bjoern Wuest, Germany
+	 * @version 2026-10-16
+	 *
+	 * @param <T> The type of referred objects.
+	 */
+	public interface IHandler<T> {
+		/** <p>Implementation shall process the given reference drained from the queue.</p>
+		 *
+		 * @param Ref The reference enqueued.
+		 */
+		public void removed(Reference<? extends T> Ref);
+	}
+
+
+	/** <p>Queue registered with its handler.</p> */
+	private final static class CRegistration<T> {
+		/** <p>The queue to drain.</p> */
+		private final ReferenceQueue<T> m_Queue;
+		/** <p>The handler to pass drained references to, or {@code null} if references are only dispatched to their removal listeners.</p> */
+		private final IHandler<? super T> m_Handler;
+
+		private CRegistration(ReferenceQueue<T> Queue, IHandler<? super T> Handler) {
+			m_Queue = Queue;
+			m_Handler = Handler;
+		}
+
+		/** <p>Drains at most one batch of references from the queue.</p> */
+		private void drain() {
+			Reference<? extends T> ref;
+			for (int i = 0; (i < BATCH_SIZE) && (null != (ref = m_Queue.poll())); i++) {
+				dispatch(ref);
+				if (null != m_Handler) {
+					try { m_Handler.removed(ref); } catch (Throwable Ignore) { /* a failing handler must not stop the reaper */ }
+				}
+			}
+		}
+	}
+
+
+	/** <p>Maximum number of references drained from one queue at once.</p> */
+	private final static int BATCH_SIZE = 1024;
+	/** <p>Maximum time in milliseconds to wait for the central queue before the registered queues are drained.</p> */
+	private final static long POLL_MILLIS = 100;
+	/** <p>Reaper used by soft references, created on first use.</p> */
+	private static volatile CReferenceReaper m_Default;
+
+
+	/** <p>Queue of soft references with removal listener but without queue of their own.</p> */
+	private final ReferenceQueue<Object> m_Queue = new ReferenceQueue<>();
+	/** <p>Queues registered additionally.</p> */
+	private final CopyOnWriteArrayList<CRegistration<?>> m_Registrations = new CopyOnWriteArrayList<>();
+	/** <p>The worker thread draining the queues.</p> */
+	private final Thread m_Worker;
+	/** <p>Flag to indicate that the reaper was stopped.</p> */
+	private volatile boolean m_Stopped = false;
+
+
+	/** <p>Creates and starts a new reaper with a daemon worker thread of the given name.</p>
+	 *
+	 * @param ThreadName The name of the worker thread.
+	 */
+	public CReferenceReaper(final String ThreadName) { this(new ThreadFactory() { @Override public Thread newThread(Runnable r) { Thread result = new Thread(r, ThreadName); result.setDaemon(true); return result; } }); }
+
+
+	/** <p>Creates and starts a new reaper.</p>
+	 *
+	 * @param Factory Factory to create the worker thread with.
+	 */
+	public CReferenceReaper(ThreadFactory Factory) {
+		m_Worker = Factory.newThread(new Runnable() { @Override public void run() { work(); } });
+		m_Worker.start();
+	}
+
+
+	/** <p>Returns the reaper whose queue is used by soft references with removal listener, created on first invocation.</p>
+	 *
+	 * @return The default reaper.
+	 */
+	public static CReferenceReaper getDefault() {
+		CReferenceReaper result = m_Default;
+		if (null == result) {
+			synchronized (CReferenceReaper.class) {
+				result = m_Default;
+				if (null == result) { m_Default = result = new CReferenceReaper("CReferenceReaper - Removal Notifications"); }
+			}
+		}
+		return result;
+	}
+
+
+	/** <p>Registers the given queue to be drained by this reaper.</p>
+	 *
+	 * @param Queue The queue to drain.
+	 * @param Handler Handler to pass drained references to, or {@code null} if only removal listeners of soft references shall be notified.
+	 * @return This instance.
+	 */
+	public <T> CReferenceReaper register(ReferenceQueue<T> Queue, IHandler<? super T> Handler) {
+		m_Registrations.add(new CRegistration<>(Queue, Handler));
+		return this;
+	}
+
+
+	/** <p>Stops draining the given queue.</p>
+	 *
+	 * @param Queue The queue registered with {@link #register(ReferenceQueue, IHandler)}.
+	 * @return This instance.
+	 */
+	public CReferenceReaper unregister(ReferenceQueue<?> Queue) {
+		for (CRegistration<?> registration : m_Registrations) {
+			if (Queue == registration.m_Queue) { m_Registrations.remove(registration); }
+		}
+		return this;
+	}
+
+
+	/** <p>Stops the worker thread. References enqueued afterwards are not processed anymore.</p> */
+	public void shutdown() {
+		m_Stopped = true;
+		m_Worker.interrupt();
+	}
+
+
+	/** <p>Returns the queue of soft references with removal listener but without queue of their own.</p>
+	 *
+	 * @return The queue.
+	 */
+	ReferenceQueue<Object> queue() { return m_Queue; }
+
+
+	/** <p>Drains the queues until stopped.</p> */
+	private void work() {
+		while (!m_Stopped) {
+			try {
+				Reference<?> ref = m_Queue.remove(POLL_MILLIS);
+				for (int i = 0; (i < BATCH_SIZE) && (null != ref); i++) {
+					dispatch(ref);
+					ref = m_Queue.poll();
+				}
+			} catch (InterruptedException Ignore) { continue; /* re-check for stop */ }
+			for (CRegistration<?> registration : m_Registrations) { registration.drain(); }
+		}
+	}
+
+
+	/** <p>Notifies the removal listener of the soft reference the given reference belongs to, if any.</p>
+	 *
+	 * @param Ref The reference drained from a queue.
+	 */
+	private static void dispatch(Reference<?> Ref) {
+		if (!(Ref instanceof CSoftReference.CListenedReference)) { return; }
+		try { ((CSoftReference.CListenedReference<?>)Ref).removed(); } catch (Throwable Ignore) { /* a failing listener must not stop the reaper */ }
+	}
+}
@@ -4,8 +4,13 @@ import java.lang.ref.Reference;
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.SoftReference;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 /** <p>Creates a {@link SoftReference} like reference to an object of given type {@code T} with the additional ability to update the referred object.</p>
+ * 
+ * <p>Reading the referred object does not lock. If the referred object became unavailable, it is regained at most once at a time per reference; concurrent readers of the same reference wait for that single regain, readers of other references are not affected.</p>
+ * 
+ * <p>An {@link IRemovalListener} set with {@link #setRemovalListener(IRemovalListener)} is notified by the {@link CReferenceReaper} whenever the referred object is garbage collected, cleared explicitly or expires. Notifications are sent only as long as this reference itself is reachable.</p>
  * 
  * @author Bjoern Wuest, Germany
  * @version 2012-01-03
@@ -28,12 +33,58 @@ public class CSoftReference<T> {
 	}
 	
 	
+	/** <p>Soft reference notifying the removal listener of its owner once enqueued. Used only if a removal listener is set.</p>
+	 * 
+	 * @param <T> The type of referred object.
+	 */
+	final static class CListenedReference<T> extends SoftReference<T> {
+		/** <p>The reference this reference belongs to.</p> */
+		private final CSoftReference<T> m_Owner;
+		/** <p>The cause of removal if removed by program, or {@code null} if garbage collected.</p> */
+		private volatile ERemovalCause m_Cause;
+		
+		private CListenedReference(T Obj, CSoftReference<T> Owner, ReferenceQueue<? super T> Queue) {
+			super(Obj, Queue);
+			m_Owner = Owner;
+		}
+		
+		/** <p>Notifies the removal listener of the owner, invoked by {@link CReferenceReaper} once dequeued.</p> */
+		void removed() {
+			IRemovalListener<? super T> listener = m_Owner.m_Listener;
+			ERemovalCause cause = m_Cause;
+			if (null != listener) { listener.onRemoval(m_Owner, (null == cause) ? ERemovalCause.COLLECTED : cause); }
+		}
+	}
+	
+	
+	/** <p>Soft reference not referring to any object, to tell a reference never given an object from a reference whose object was garbage collected.</p>
+	 * 
+	 * @param <T> The type of referred object.
+	 */
+	private final static class CEmptyReference<T> extends SoftReference<T> {
+		private CEmptyReference(ReferenceQueue<? super T> Queue) { super(null, Queue); }
+	}
+	
+	
+	/** <p>Atomic updater for {@link #m_Ref}.</p> */
+	@SuppressWarnings("rawtypes") private final static AtomicReferenceFieldUpdater<CSoftReference, SoftReference> m_RefUpdater = AtomicReferenceFieldUpdater.newUpdater(CSoftReference.class, SoftReference.class, "m_Ref");
+	/** <p>Atomic updater for {@link #m_Collected}.</p> */
+	@SuppressWarnings("rawtypes") private final static AtomicReferenceFieldUpdater<CSoftReference, SoftReference> m_CollectedUpdater = AtomicReferenceFieldUpdater.newUpdater(CSoftReference.class, SoftReference.class, "m_Collected");
+	
 	/** <p>The reference to the referred object.</p> */
-	private SoftReference<T> m_Ref;
+	private volatile SoftReference<T> m_Ref;
 	/** <p>The reference queue, if used.</p> */
 	private final ReferenceQueue<? super T> m_Queue;
 	/** <p>Implementation capable to create new object instance to be held with soft reference if referenced object became unavailable.</p> */
-	private IInstantiator<T> m_Instantiator;
+	private final IInstantiator<T> m_Instantiator;
+	/** <p>Lock taken only while regaining the referenced object, to regain it only once on concurrent access.</p> */
+	private final Object m_ResurrectionLock = new Object();
+	/** <p>Flag to indicate that the referenced object was accessed since {@link #testAndResetAccessed()} was invoked last. Deliberately not volatile, since it is a hint only.</p> */
+	private boolean m_Accessed = false;
+	/** <p>Listener notified on removal of the referred object, or {@code null} if none.</p> */
+	private volatile IRemovalListener<? super T> m_Listener;
+	/** <p>The reference last found garbage collected by {@link #get()}, to report every collected object only once.</p> */
+	private volatile SoftReference<T> m_Collected;
 	
 	
 	/** <p>Creates a new soft reference that does not refer to any object. The new reference is not registered with any queue.</p>
@@ -92,7 +143,28 @@ public class CSoftReference<T> {
 	public CSoftReference(T Obj, IInstantiator<T> Instantiator, ReferenceQueue<? super T> Queue) {
 		m_Queue = Queue;
 		m_Instantiator = Instantiator;
-		m_Ref = new SoftReference<>(Obj, m_Queue);
+		m_Ref = newReference(Obj);
+	}
+	
+	
+	/** <p>Sets the listener to notify when the referred object is removed. The listener applies to the currently referred object, too.</p>
+	 * 
+	 * <p>If this reference was created with a queue, the reference objects are enqueued there instead of with the {@link CReferenceReaper#getDefault() default reaper}, and listeners are notified only if that queue is registered with a reaper using {@link CReferenceReaper#register(ReferenceQueue, CReferenceReaper.IHandler)}.</p>
+	 * 
+	 * @param Listener The listener to notify, or {@code null} to not notify anymore.
+	 * @return This instance.
+	 */
+	public CSoftReference<T> setRemovalListener(IRemovalListener<? super T> Listener) {
+		m_Listener = Listener;
+		while (null != Listener) {
+			// Replace the current reference by one notifying on removal, unless removed already
+			SoftReference<T> ref = m_Ref;
+			if ((null == ref) || (ref instanceof CListenedReference)) { break; }
+			T referent = ref.get();
+			if (null == referent) { break; }
+			if (m_RefUpdater.compareAndSet(this, ref, newReference(referent))) { break; }
+		}
+		return this;
 	}
 	
 	
@@ -101,35 +173,123 @@ public class CSoftReference<T> {
 	 * @param Obj The object to refer to by this reference.
 	 * @return The previously referred object, or {@code null} if no object was referred.
 	 */
-	public synchronized T set(T Obj) {
-		T result = null;
-		if (null != m_Ref) { result = m_Ref.get(); }
-		m_Ref = new SoftReference<>(Obj, m_Queue);
+	@SuppressWarnings("unchecked") public T set(T Obj) {
+		SoftReference<T> previous = m_RefUpdater.getAndSet(this, newReference(Obj));
+		if (null == previous) { return null; }
+		T result = previous.get();
+		// A replaced object is not removed, so the replaced reference must not notify when it is collected later
+		if (previous instanceof CListenedReference) { previous.clear(); }
 		return result;
 	}
 	
 	
+	/** <p>Creates the reference to hold the given object with.</p>
+	 * 
+	 * @param Obj The object to refer to.
+	 * @return A reference notifying the removal listener if one is set, otherwise a plain soft reference.
+	 */
+	private SoftReference<T> newReference(T Obj) {
+		if (null == Obj) { return new CEmptyReference<>(m_Queue); }
+		if (null == m_Listener) { return new SoftReference<>(Obj, m_Queue); }
+		if (null != m_Queue) { return new CListenedReference<>(Obj, this, m_Queue); }
+		return new CListenedReference<>(Obj, this, CReferenceReaper.getDefault().queue());
+	}
+	
+	
+	/** <p>Clears the given reference object, and enqueues it with the given cause if it notifies the removal listener.</p>
+	 * 
+	 * @param Ref The reference object to clear.
+	 * @param Cause The cause of removal, reported unless the referred object was garbage collected already.
+	 */
+	private static void release(SoftReference<?> Ref, ERemovalCause Cause) {
+		if (!(Ref instanceof CListenedReference)) {
+			Ref.clear();
+			return;
+		}
+		if (null != Ref.get()) { ((CListenedReference<?>)Ref).m_Cause = Cause; }
+		Ref.clear();
+		// Does nothing if enqueued by the garbage collector already
+		Ref.enqueue();
+	}
+	
+	
 	/** <p>Returns this reference object's referent. If this reference object has been cleared, either by the program or by the garbage collector, then this method returns {@code null}.</p>
 	 * 
-	 * <p>If just the referenced object became unavailable, it attempts to regain it using {@link IInstantiator#createInstance()}.</p>
+	 * <p>If just the referenced object became unavailable, it attempts to regain it using {@link IInstantiator#createInstance()}. Concurrent invocations regain the object only once.</p>
 	 * 
 	 * @return The object to which this reference refers, or {@code null} if this reference object has been cleared.
 	 * 
 	 * @See {@link Reference#get()}
 	 */
-	public synchronized T get() {
-		if (null == m_Ref) { return null; }
-		T result = m_Ref.get();
+	public T get() {
+		IReferenceMetrics metrics = CReferenceMetrics.current();
+		SoftReference<T> ref = m_Ref;
+		if (null == ref) {
+			metrics.recordMiss();
+			return null;
+		}
+		T result = ref.get();
+		// Write access flag only if not set, to not contend on frequent reads
+		if (!m_Accessed) { m_Accessed = true; }
+		if (null != result) {
+			metrics.recordHit();
+			return result;
+		}
+		metrics.recordMiss();
+		// Report a collected object only if the reference referred to one, and only for the first read finding it collected
+		SoftReference<T> collected = m_Collected;
+		if ((collected != ref) && !(ref instanceof CEmptyReference) && m_CollectedUpdater.compareAndSet(this, collected, ref)) { metrics.recordCollected(); }
+		if (null == m_Instantiator) { return null; }
 		// Attempt to resurrect referenced object
-		if ((null == result) && (null != m_Instantiator)) {
-			synchronized (m_Instantiator) { result = m_Instantiator.createInstance(); }
-			m_Ref = new SoftReference<>(result, m_Queue);
+		synchronized (m_ResurrectionLock) {
+			ref = m_Ref;
+			if (null == ref) { return null; }
+			result = ref.get();
+			if (null != result) { return result; }
+			result = createInstance(m_Instantiator, metrics);
+			// Do not overwrite an object set or a clearing done while resurrecting
+			if (m_RefUpdater.compareAndSet(this, ref, newReference(result))) {
+				regained(result);
+				return result;
+			}
 		}
-		return result;
+		ref = m_Ref;
+		return (null == ref) ? null : ref.get();
+	}
+	
+	
+	/** <p>Creates an object with the given instantiator, reporting the time taken to the given metrics.</p>
+	 * 
+	 * @param Instantiator The instantiator to create the object with.
+	 * @param Metrics The metrics to report to.
+	 * @return The created object.
+	 */
+	private static <T> T createInstance(IInstantiator<T> Instantiator, IReferenceMetrics Metrics) {
+		long start = System.nanoTime();
+		boolean success = false;
+		try {
+			T result = Instantiator.createInstance();
+			success = true;
+			return result;
+		} finally { Metrics.recordLoad(System.nanoTime() - start, success); }
 	}
 	
 	
-	/** <p>Clears this reference object. Invoking this method will not cause this object to be enqueued.</p>
+	/** <p>Returns the lock held by {@link #get()} while regaining the referenced object, i.e. while invoking {@link IInstantiator#createInstance()} and installing its result.</p>
+	 * 
+	 * @return The lock.
+	 */
+	final Object resurrectionLock() { return m_ResurrectionLock; }
+	
+	
+	/** <p>Invoked by {@link #get()} after the referenced object was regained with {@link IInstantiator#createInstance()}, while holding the resurrection lock. Does nothing by default.</p>
+	 * 
+	 * @param Obj The regained object, or {@code null} if the instantiator did not return an object.
+	 */
+	void regained(T Obj) {}
+	
+	
+	/** <p>Clears this reference object. Invoking this method will not cause this object to be enqueued, but notifies the removal listener, if any, of an {@link ERemovalCause#EXPLICIT explicit} removal.</p>
 	 * 
 	 * <p>This method is invoked only by Java code; when the garbage collector clears references it does so directly, without invoking this method.</p>
 	 * 
@@ -137,20 +297,66 @@ public class CSoftReference<T> {
 	 * 
 	 * @See {@link Reference#clear()}
 	 */
-	public synchronized CSoftReference<T> clear() {
-		if (null != m_Ref) {
-			m_Ref.clear();
-			m_Ref = null;
-		}
+	public CSoftReference<T> clear() {
+		SoftReference<?> previous = m_RefUpdater.getAndSet(this, null);
+		if (null != previous) { release(previous, ERemovalCause.EXPLICIT); }
 		return this;
 	}
 	
 	
+	/** <p>Returns the reference currently holding the referred object, to be used with {@link #clearReference(SoftReference)}.</p>
+	 * 
+	 * @return The current reference, or {@code null} if this reference object has been cleared.
+	 */
+	final SoftReference<T> reference() { return m_Ref; }
+	
+	
+	/** <p>Clears this reference object like {@link #clear()}, but only if the referred object was not set or regained since the given reference was obtained from {@link #reference()}.</p>
+	 * 
+	 * @param Expected The reference expected to be current.
+	 * @param Cause The cause of removal reported to the removal listener.
+	 * @return {@code true} if this reference object was cleared, or {@code false} if the current reference is not the expected one.
+	 */
+	final boolean clearReference(SoftReference<T> Expected, ERemovalCause Cause) {
+		if (!m_RefUpdater.compareAndSet(this, Expected, null)) { return false; }
+		if (null != Expected) { release(Expected, Cause); }
+		return true;
+	}
+	
+	
+	/** <p>Clears the referenced object like the garbage collector does, i.e. unlike {@link #clear()} the object is regained with {@link IInstantiator#createInstance()} on next access, the reference object is enqueued with its queue, if any, and the removal listener is notified of a {@link ERemovalCause#COLLECTED collected} object.</p>
+	 * 
+	 * @return {@code true} if an object was referenced.
+	 */
+	final boolean evict() {
+		SoftReference<T> ref = m_Ref;
+		if ((null == ref) || (null == ref.get())) { return false; }
+		ref.clear();
+		// Like a clearing by the garbage collector, so owners of the queue learn about it; does nothing without a queue
+		ref.enqueue();
+		return true;
+	}
+	
+	
+	/** <p>Returns whether the referenced object was accessed since the last invocation of this method, and resets the according flag.</p>
+	 * 
+	 * @return {@code true} if the referenced object was accessed.
+	 */
+	final boolean testAndResetAccessed() {
+		if (!m_Accessed) { return false; }
+		m_Accessed = false;
+		return true;
+	}
+	
+	
 	/** <p>Returns {@code true} if this reference is cleared, i.e. refers to the {@code null} object.</p>
 	 * 
 	 * @return {@code true} if this reference is cleared.
 	 */
-	public synchronized boolean isCleared() { return (null == m_Ref) || (null == m_Ref.get()); }
+	public boolean isCleared() {
+		SoftReference<T> ref = m_Ref;
+		return (null == ref) || (null == ref.get());
+	}
 	
 	
 	/** <p>Adds this reference object to the queue with which it is registered, if any.</p>
@@ -161,8 +367,9 @@ public class CSoftReference<T> {
 	 * 
 	 * @See {@link Reference#enqueue()}
 	 */
-	public synchronized boolean enqueue() {
-		if (null != m_Ref) { return m_Ref.enqueue(); }
+	public boolean enqueue() {
+		SoftReference<T> ref = m_Ref;
+		if (null != ref) { return ref.enqueue(); }
 		return false;
 	}
 	
@@ -173,46 +380,53 @@ public class CSoftReference<T> {
 	 * 
 	 * @See {@link Reference#isEnqueued()}
 	 */
-	public synchronized boolean isEnqueued() {
-		if (null != m_Ref) { return m_Ref.isEnqueued(); }
+	public boolean isEnqueued() {
+		SoftReference<T> ref = m_Ref;
+		if (null != ref) { return ref.isEnqueued(); }
 		return false;
 	}
 	
 	
-	@Override public synchronized boolean equals(Object Obj) {
+	@Override public boolean equals(Object Obj) {
+		// Read each reference only once, so concurrent updates cannot change it in between
+		SoftReference<T> own = m_Ref;
+		T referent = (null == own) ? null : own.get();
 		if (Obj instanceof CSoftReference) {
 			// Object is a soft reference
 			CSoftReference<?> ref = (CSoftReference<?>)Obj;
 			// Are soft references equal?
 			if (this == ref) { return true; }
 			// Are the reference objects equal?
-			if (m_Ref == ref.m_Ref) { return true; }
+			SoftReference<?> other = ref.m_Ref;
+			if (own == other) { return true; }
 			// @FIXME: check if both references do reference the same type!
 			// Are the referred objects equal?
-			if ((null != m_Ref) && (null != ref.m_Ref)) {
-				if (null == m_Ref.get()) { return null == ref.m_Ref.get(); }
-				return m_Ref.get().equals(ref.m_Ref.get());
+			if ((null != own) && (null != other)) {
+				if (null == referent) { return null == other.get(); }
+				return referent.equals(other.get());
 			}
 		} else if (Obj instanceof Reference) {
 			// Object is a Java reference
 			Reference<?> ref = (Reference<?>)Obj;
 			// Are references objects equal?
-			if (m_Ref == ref) { return true; }
+			if (own == ref) { return true; }
 			// @FIXME: check if both references do reference the same type!
 			// Are the referred objects equal?
-			if (null != m_Ref) {
-				if (null == m_Ref.get()) { return null == ref.get(); }
-				return m_Ref.get().equals(ref.get());
+			if (null != own) {
+				if (null == referent) { return null == ref.get(); }
+				return referent.equals(ref.get());
 			}
 		// Object is a normal object that may be referenced
-		} else if ((null != m_Ref) && (null != m_Ref.get())) { return m_Ref.get().equals(Obj); }
+		} else if (null != referent) { return referent.equals(Obj); }
 		return null == Obj;
 	}
 	@Override public int hashCode() { return Objects.hash(m_Queue, m_Ref); }
-	@Override public synchronized String toString() {
-		if (null != m_Ref) {
-			if (null != m_Ref.get()) { return m_Ref.get().toString(); }
-			return m_Ref.toString();
+	@Override public String toString() {
+		SoftReference<T> ref = m_Ref;
+		if (null != ref) {
+			T referent = ref.get();
+			if (null != referent) { return referent.toString(); }
+			return ref.toString();
 		}
 		return super.toString();
 	}
@@ -0,0 +1,233 @@
+package name.liwuest.util.types;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/** <p>Concurrent keyed cache holding its values with soft references, i.e. a keyed counterpart to {@link CSoftReference}.</p>
+ * 
+ * <p>Values are loaded per key with an {@link IInstantiator} when absent or when garbage collected. Concurrent misses on the same key load the value only once, all other threads wait for the result of the single load. Entries whose value was garbage collected are removed from the cache by draining an internal {@link ReferenceQueue} on every access, so the cache shrinks under heap pressure without any additional thread.</p>
+ * 
+ * <p>Keys must not be {@code null}. A {@code null} value returned by the instantiator is not cached.</p>
+ * 
+ * @author Bjoern Wuest, Germany
+ * @version 2026-10-16
+ * @param <K> The type of keys.
+ * @param <V> The type of cached values.
+ */
+public class CSoftReferenceCache<K, V> {
+	/** <p>Interface to implement automatic, per key object provisioning for the cache, i.e. the keyed version of {@link CSoftReference.IInstantiator}.</p>
+	 * 
+	 * @author Bjoern Wuest, Germany
+	 * @version 2026-10-16
+	 * 
+	 * @param <K> The type of keys.
+	 * @param <V> The type of cached values.
+	 */
+	public interface IInstantiator<K, V> {
+		/** <p>Implementation shall return object to be cached for the given key.</p>
+		 * 
+		 * @param Key The key to create the object for.
+		 * @return The object to be cached, or {@code null} if there is no object for the key.
+		 */
+		public V createInstance(K Key);
+	}
+	
+	
+	/** <p>Soft reference to a cached value remembering its key, so it can be removed from the map once enqueued.</p> */
+	private final static class CEntry<K, V> extends SoftReference<V> {
+		/** <p>The key the value is cached for.</p> */
+		private final K m_Key;
+		
+		private CEntry(K Key, V Value, ReferenceQueue<? super V> Queue) {
+			super(Value, Queue);
+			m_Key = Key;
+		}
+	}
+	
+	
+	/** <p>The cached entries.</p> */
+	private final ConcurrentHashMap<K, CEntry<K, V>> m_Entries = new ConcurrentHashMap<>();
+	/** <p>Loads currently in progress, used to load every key only once on concurrent misses.</p> */
+	private final ConcurrentHashMap<K, CompletableFuture<V>> m_Loading = new ConcurrentHashMap<>();
+	/** <p>Queue receiving entries whose value was garbage collected.</p> */
+	private final ReferenceQueue<V> m_Queue = new ReferenceQueue<>();
+	/** <p>Implementation capable to create new object instance for a key, or {@code null} if the cache is populated explicitly only.</p> */
+	private final IInstantiator<K, V> m_Instantiator;
+	
+	
+	/** <p>Creates a new cache that is populated explicitly using {@link #put(Object, Object)} only.</p> */
+	public CSoftReferenceCache() { this(null); }
+	
+	
+	/** <p>Creates a new cache.</p>
+	 * 
+	 * @param Instantiator Implementation to use to load objects for keys that are not cached or were garbage collected.
+	 */
+	public CSoftReferenceCache(IInstantiator<K, V> Instantiator) { m_Instantiator = Instantiator; }
+	
+	
+	/** <p>Returns the object cached for the given key. If there is none, or it was garbage collected, it is loaded using the {@link IInstantiator} given on construction.</p>
+	 * 
+	 * @param Key The key to get the object for.
+	 * @return The object cached for the key, or {@code null} if there is none and it could not be loaded.
+	 */
+	public V get(K Key) {
+		IReferenceMetrics metrics = CReferenceMetrics.current();
+		expunge();
+		CEntry<K, V> entry = m_Entries.get(Key);
+		if (null != entry) {
+			V result = entry.get();
+			if (null != result) {
+				metrics.recordHit();
+				return result;
+			}
+			// Only the thread removing the entry reports it, so concurrent misses report the collected object once
+			if (m_Entries.remove(Key, entry)) { metrics.recordCollected(); }
+		}
+		metrics.recordMiss();
+		if (null == m_Instantiator) { return null; }
+		return load(Key);
+	}
+	
+	
+	/** <p>Returns the object cached for the given key without attempting to load it.</p>
+	 * 
+	 * @param Key The key to get the object for.
+	 * @return The object cached for the key, or {@code null} if there is none.
+	 */
+	public V getIfPresent(K Key) {
+		expunge();
+		CEntry<K, V> entry = m_Entries.get(Key);
+		return (null == entry) ? null : entry.get();
+	}
+	
+	
+	/** <p>Caches the given object for the given key. A load of the key in progress does not overwrite the object.</p>
+	 * 
+	 * @param Key The key to cache the object for.
+	 * @param Value The object to cache. If {@code null}, the key is removed from the cache.
+	 * @return The previously cached object, or {@code null} if no object was cached.
+	 */
+	public V put(K Key, V Value) {
+		expunge();
+		if (null == Value) { return remove(Key); }
+		m_Loading.remove(Key);
+		CEntry<K, V> previous = m_Entries.put(Key, new CEntry<>(Key, Value, m_Queue));
+		return (null == previous) ? null : previous.get();
+	}
+	
+	
+	/** <p>Removes the object cached for the given key. The result of a load of the key in progress is not cached.</p>
+	 * 
+	 * @param Key The key to remove.
+	 * @return The previously cached object, or {@code null} if no object was cached.
+	 */
+	public V remove(K Key) {
+		expunge();
+		// Invalidate a load in progress before removing, see load(Object)
+		m_Loading.remove(Key);
+		CEntry<K, V> previous = m_Entries.remove(Key);
+		if (null == previous) { return null; }
+		V result = previous.get();
+		previous.clear();
+		return result;
+	}
+	
+	
+	/** <p>Removes all objects from the cache.</p>
+	 * 
+	 * @return This instance.
+	 */
+	public CSoftReferenceCache<K, V> clear() {
+		m_Loading.clear();
+		m_Entries.clear();
+		expunge();
+		return this;
+	}
+	
+	
+	/** <p>Returns the number of entries in the cache. Entries whose object was garbage collected but not yet detected as such are counted, too.</p>
+	 * 
+	 * @return The number of entries in the cache.
+	 */
+	public int size() {
+		expunge();
+		return m_Entries.size();
+	}
+	
+	
+	/** <p>Loads the object for the given key, making sure concurrent misses on the same key load it only once.</p>
+	 * 
+	 * <p>The loaded object is cached only if neither {@link #put(Object, Object)}, {@link #remove(Object)} nor {@link #clear()} happened for the key meanwhile. These remove the load from {@link #m_Loading} before changing {@link #m_Entries}, so either the loaded object is installed against the entry seen before loading, or the load was invalidated and the object is taken out again.</p>
+	 * 
+	 * @param Key The key to load the object for.
+	 * @return The loaded object.
+	 */
+	private V load(K Key) {
+		CompletableFuture<V> loading = new CompletableFuture<>();
+		CompletableFuture<V> running = m_Loading.putIfAbsent(Key, loading);
+		if (null != running) { return await(running); }
+		try {
+			// Another thread may have completed loading between our miss and winning the load
+			CEntry<K, V> entry = m_Entries.get(Key);
+			V result = (null == entry) ? null : entry.get();
+			if (null == result) {
+				long start = System.nanoTime();
+				boolean success = false;
+				try {
+					result = m_Instantiator.createInstance(Key);
+					success = true;
+				} finally { CReferenceMetrics.current().recordLoad(System.nanoTime() - start, success); }
+				if (null != result) {
+					CEntry<K, V> loaded = new CEntry<>(Key, result, m_Queue);
+					boolean installed = (null == entry) ? (null == m_Entries.putIfAbsent(Key, loaded)) : m_Entries.replace(Key, entry, loaded);
+					if (installed && (loading != m_Loading.get(Key))) {
+						m_Entries.remove(Key, loaded);
+						loaded.clear();
+					}
+				}
+			}
+			loading.complete(result);
+			return result;
+		} catch (RuntimeException | Error Ex) {
+			loading.completeExceptionally(Ex);
+			throw Ex;
+		} finally { m_Loading.remove(Key, loading); }
+	}
+	
+	
+	/** <p>Waits uninterruptibly for a load by another thread to complete, rethrowing its failure.</p>
+	 * 
+	 * @param Loading The load to wait for.
+	 * @return The loaded object.
+	 */
+	static <V> V await(CompletableFuture<V> Loading) {
+		boolean interrupted = false;
+		try {
+			while (true) {
+				try { return Loading.get(); }
+				catch (InterruptedException Ex) { interrupted = true; }
+				catch (ExecutionException Ex) {
+					if (Ex.getCause() instanceof RuntimeException) { throw (RuntimeException)Ex.getCause(); }
+					if (Ex.getCause() instanceof Error) { throw (Error)Ex.getCause(); }
+					throw new CompletionException(Ex.getCause());
+				}
+			}
+		} finally { if (interrupted) { Thread.currentThread().interrupt(); } }
+	}
+	
+	
+	/** <p>Removes all entries from the map whose object was garbage collected.</p> */
+	@SuppressWarnings("unchecked") private void expunge() {
+		Reference<? extends V> ref;
+		while (null != (ref = m_Queue.poll())) {
+			CEntry<K, V> entry = (CEntry<K, V>)ref;
+			m_Entries.remove(entry.m_Key, entry);
+		}
+	}
+}
@@ -0,0 +1,279 @@
+package name.liwuest.util.types;
+
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/** <p>Concurrent pool of reusable objects, e.g. large buffers or expensive parsers, holding idle objects with soft references.</p>
+ *
+ * <p>Objects are taken with {@link #acquire()} and given back with {@link #release(Object)}. If no idle object is available, a new one is created with the {@link CSoftReference.IInstantiator}. Idle objects are held softly, so the garbage collector reclaims them on heap pressure instead of the pool pinning memory; objects in use are referenced softly by their slot only, i.e. an object never released keeps its slot until garbage collected.</p>
+ *
+ * <p>Idle objects are kept in stripes of slots, where every thread releases to and acquires from its own stripe first, so threads do not contend on a common list. An object acquired from the own stripe keeps its slot, so giving it back just marks the slot idle again without allocating, and release searches the own stripe only. Objects taken from the stripe of another thread leave their slot, and like objects newly created on a miss take a free slot of the stripe of the releasing thread. If that stripe is full, released objects are left to the garbage collector. An object released by another thread than the one acquiring it keeps its original slot busy until the garbage collector clears it. Optionally, objects idle for longer than a given time are dropped by a task run with an {@link IExpiryScheduler}, by default the one of {@link CTimedSoftReference}.</p>
+ * 
+ * <p>Hits, misses and creations are reported to the {@link IReferenceMetrics} set with {@link #setMetrics(IReferenceMetrics)}, separately from the metrics of soft reference lookups.</p>
+ *
+ * @author Bjoern Wuest, Germany
+ * @version 2026-10-16
+ * @param <T> The type of pooled objects.
+ */
+public class CSoftReferencePool<T> {
+	/** <p>Interface to implement preparing released objects for reuse.</p>
+	 *
+	 * @author Bjoern Wuest, Germany
+	 * @version 2026-10-16
+	 *
+	 * @param <T> The type of pooled objects.
+	 */
+	public interface IResetter<T> {
+		/** <p>Implementation shall reset the given object to the state of a newly created one, e.g. clear a buffer.</p>
+		 *
+		 * @param Obj The released object.
+		 * @return {@code true} if the object can be reused, or {@code false} if it shall be discarded.
+		 */
+		public boolean reset(T Obj);
+	}
+
+
+	/** <p>Soft reference to a pooled object, kept in its slot while the object is acquired so it is reused on release.</p> */
+	private final static class CEntry<T> extends SoftReference<T> {
+		private final static int IDLE = 0, BUSY = 1;
+		@SuppressWarnings("rawtypes") private final static AtomicIntegerFieldUpdater<CEntry> m_StateUpdater = AtomicIntegerFieldUpdater.newUpdater(CEntry.class, "m_State");
+
+		/** <p>Point in time, as of {@link IExpiryScheduler#nanoTime()}, the object was released at. Written before {@link #m_State}, so reading the state publishes it.</p> */
+		private long m_Released;
+		/** <p>{@link #IDLE} if the object may be acquired, {@link #BUSY} if it is acquired or being dropped.</p> */
+		private volatile int m_State = IDLE;
+
+		private CEntry(T Obj, long Released) {
+			super(Obj);
+			m_Released = Released;
+		}
+
+		/** <p>Takes the object for exclusive use.</p>
+		 *
+		 * @return {@code true} if the object was idle.
+		 */
+		private boolean take() { return (IDLE == m_State) && m_StateUpdater.compareAndSet(this, IDLE, BUSY); }
+	}
+
+
+	/** <p>Implementation capable to create new objects.</p> */
+	private final CSoftReference.IInstantiator<T> m_Instantiator;
+	/** <p>Implementation preparing released objects for reuse, or {@code null} if objects are reused as released.</p> */
+	private final IResetter<? super T> m_Resetter;
+	/** <p>Slots for idle objects, stripe after stripe.</p> */
+	private final AtomicReferenceArray<CEntry<T>> m_Slots;
+	/** <p>Number of slots per stripe.</p> */
+	private final int m_Capacity;
+	/** <p>Mask to map threads to stripes.</p> */
+	private final int m_Mask;
+	/** <p>Scheduler dropping idle objects, or {@code null} if idle objects are dropped by the garbage collector only.</p> */
+	private final IExpiryScheduler m_Scheduler;
+	/** <p>Time in nanoseconds an object may be idle before it is dropped.</p> */
+	private final long m_IdleNanos;
+	/** <p>Receiver of hits, misses and creations of this pool.</p> */
+	private volatile IReferenceMetrics m_Metrics = CReferenceMetrics.DISABLED;
+
+
+	/** <p>Creates a new pool keeping up to four idle objects per processor, reused as released.</p>
+	 *
+	 * @param Instantiator Implementation to create new objects with.
+	 */
+	public CSoftReferencePool(CSoftReference.IInstantiator<T> Instantiator) { this(Instantiator, null, 4 * Runtime.getRuntime().availableProcessors()); }
+
+
+	/** <p>Creates a new pool.</p>
+	 *
+	 * @param Instantiator Implementation to create new objects with.
+	 * @param Resetter Implementation to prepare released objects for reuse, or {@code null} to reuse objects as released.
+	 * @param MaxIdle The maximum number of idle objects kept, distributed over the stripes.
+	 */
+	public CSoftReferencePool(CSoftReference.IInstantiator<T> Instantiator, IResetter<? super T> Resetter, int MaxIdle) { this(Instantiator, Resetter, MaxIdle, -1l, TimeUnit.NANOSECONDS, null); }
+
+
+	/** <p>Creates a new pool dropping objects idle for longer than the given time, using the default scheduler of {@link CTimedSoftReference}.</p>
+	 *
+	 * @param Instantiator Implementation to create new objects with.
+	 * @param Resetter Implementation to prepare released objects for reuse, or {@code null} to reuse objects as released.
+	 * @param MaxIdle The maximum number of idle objects kept, distributed over the stripes.
+	 * @param IdleTimeout The time an object may be idle before it is dropped.
+	 * @param IdleTimeunit The unit of time given in parameter {@code IdleTimeout}.
+	 */
+	public CSoftReferencePool(CSoftReference.IInstantiator<T> Instantiator, IResetter<? super T> Resetter, int MaxIdle, long IdleTimeout, TimeUnit IdleTimeunit) { this(Instantiator, Resetter, MaxIdle, IdleTimeout, IdleTimeunit, CTimedSoftReference.getDefaultScheduler()); }
+
+
+	/** <p>Creates a new pool dropping objects idle for longer than the given time.</p>
+	 *
+	 * @param Instantiator Implementation to create new objects with.
+	 * @param Resetter Implementation to prepare released objects for reuse, or {@code null} to reuse objects as released.
+	 * @param MaxIdle The maximum number of idle objects kept, distributed over the stripes.
+	 * @param IdleTimeout The time an object may be idle before it is dropped, or a non-positive value to not drop idle objects.
+	 * @param IdleTimeunit The unit of time given in parameter {@code IdleTimeout}.
+	 * @param Scheduler The scheduler to run the task dropping idle objects with, or {@code null} to not drop idle objects.
+	 */
+	public CSoftReferencePool(CSoftReference.IInstantiator<T> Instantiator, IResetter<? super T> Resetter, int MaxIdle, long IdleTimeout, TimeUnit IdleTimeunit, IExpiryScheduler Scheduler) {
+		if (null == Instantiator) { throw new IllegalArgumentException("Instantiator must not be null"); }
+		if (0 >= MaxIdle) { throw new IllegalArgumentException("Maximum number of idle objects must be positive: " + MaxIdle); }
+		m_Instantiator = Instantiator;
+		m_Resetter = Resetter;
+		int stripes = 1;
+		while ((stripes < Runtime.getRuntime().availableProcessors()) && (stripes < MaxIdle)) { stripes <<= 1; }
+		m_Mask = stripes - 1;
+		m_Capacity = (MaxIdle + stripes - 1) / stripes;
+		m_Slots = new AtomicReferenceArray<>(stripes * m_Capacity);
+		m_IdleNanos = IdleTimeunit.toNanos(IdleTimeout);
+		m_Scheduler = (0 < m_IdleNanos) ? Scheduler : null;
+		if (null != m_Scheduler) { scheduleTrim(m_Scheduler, new WeakReference<>(this), trimInterval()); }
+	}
+
+
+	/** <p>Takes an idle object from the pool, or creates a new one if there is none.</p>
+	 *
+	 * @return The object, exclusively owned by the caller until released.
+	 */
+	public T acquire() {
+		IReferenceMetrics metrics = m_Metrics;
+		int home = stripe();
+		// Own stripe first, then the stripes of other threads
+		for (int k = 0; k <= m_Mask; k++) {
+			int base = ((home + k) & m_Mask) * m_Capacity;
+			for (int i = base; i < base + m_Capacity; i++) {
+				CEntry<T> entry = m_Slots.get(i);
+				if ((null == entry) || !entry.take()) { continue; }
+				T result = entry.get();
+				if (null != result) {
+					// Release searches the own stripe only, so an object of another stripe moves to the own stripe on release
+					if (0 != k) { m_Slots.compareAndSet(i, entry, null); }
+					metrics.recordHit();
+					return result;
+				}
+				// Collected while idle, free the slot
+				m_Slots.compareAndSet(i, entry, null);
+				metrics.recordCollected();
+			}
+		}
+		metrics.recordMiss();
+		long start = System.nanoTime();
+		boolean success = false;
+		try {
+			T result = m_Instantiator.createInstance();
+			success = true;
+			return result;
+		} finally { metrics.recordLoad(System.nanoTime() - start, success); }
+	}
+
+
+	/** <p>Gives an object back to the pool. The object must not be used by the caller afterwards.</p>
+	 *
+	 * @param Obj The object acquired before, or {@code null} to do nothing.
+	 */
+	public void release(T Obj) {
+		if (null == Obj) { return; }
+		boolean reuse = (null == m_Resetter) || m_Resetter.reset(Obj);
+		long now = (null == m_Scheduler) ? 0 : m_Scheduler.nanoTime();
+		int base = stripe() * m_Capacity;
+		// Give the object back to the slot of the own stripe it was acquired from
+		for (int i = base; i < base + m_Capacity; i++) {
+			CEntry<T> entry = m_Slots.get(i);
+			if ((null == entry) || (CEntry.BUSY != entry.m_State) || (Obj != entry.get())) { continue; }
+			if (reuse) {
+				entry.m_Released = now;
+				entry.m_State = CEntry.IDLE;
+			} else if (m_Slots.compareAndSet(i, entry, null)) { entry.clear(); }
+			return;
+		}
+		if (!reuse) { return; }
+		// Object was created on a miss or taken from another stripe, take a free slot of the own stripe or one whose object was garbage collected
+		CEntry<T> released = null;
+		for (int i = base; i < base + m_Capacity; i++) {
+			CEntry<T> entry = m_Slots.get(i);
+			if ((null != entry) && (null != entry.get())) { continue; }
+			if (null == released) { released = new CEntry<>(Obj, now); }
+			if (m_Slots.compareAndSet(i, entry, released)) { return; }
+		}
+		// Stripe is full, leave the object to the garbage collector
+	}
+
+
+	/** <p>Returns the number of idle objects not garbage collected.</p>
+	 *
+	 * @return The number of idle objects.
+	 */
+	public int idle() {
+		int result = 0;
+		for (int i = 0; i < m_Slots.length(); i++) {
+			CEntry<T> entry = m_Slots.get(i);
+			if ((null != entry) && (CEntry.IDLE == entry.m_State) && (null != entry.get())) { result++; }
+		}
+		return result;
+	}
+
+
+	/** <p>Drops all idle objects. Objects acquired at the time are not given back to their slot, but like objects created on a miss.</p>
+	 *
+	 * @return This instance.
+	 */
+	public CSoftReferencePool<T> clear() {
+		for (int i = 0; i < m_Slots.length(); i++) {
+			CEntry<T> entry = m_Slots.getAndSet(i, null);
+			if ((null != entry) && entry.take()) { entry.clear(); }
+		}
+		return this;
+	}
+
+
+	/** <p>Sets the receiver of hits, misses and creations of this pool, e.g. a {@link CStripedMetrics} of its own. Pool activity is not reported to {@link CReferenceMetrics#current()}, to not mix it with soft reference lookups.</p>
+	 *
+	 * @param Metrics The receiver, or {@code null} to not report.
+	 * @return This instance.
+	 */
+	public CSoftReferencePool<T> setMetrics(IReferenceMetrics Metrics) {
+		m_Metrics = (null == Metrics) ? CReferenceMetrics.DISABLED : Metrics;
+		return this;
+	}
+
+
+	/** <p>Drops all objects idle for longer than the idle timeout, and all entries whose object was garbage collected.</p> */
+	private void trim() {
+		long now = m_Scheduler.nanoTime();
+		for (int i = 0; i < m_Slots.length(); i++) {
+			CEntry<T> entry = m_Slots.get(i);
+			if ((null == entry) || (CEntry.IDLE != entry.m_State) || ((null != entry.get()) && (now - entry.m_Released < m_IdleNanos))) { continue; }
+			if (entry.take() && m_Slots.compareAndSet(i, entry, null)) { entry.clear(); }
+		}
+	}
+
+
+	/** <p>Returns the time between two runs of the task dropping idle objects, i.e. objects are dropped within one and a half times the idle timeout.</p>
+	 *
+	 * @return The time in nanoseconds.
+	 */
+	private long trimInterval() { return Math.max(1, m_IdleNanos >>> 1); }
+
+
+	/** <p>Returns the stripe of the current thread.</p>
+	 *
+	 * @return The index of the stripe.
+	 */
+	private int stripe() { return (int)((Thread.currentThread().getId() * 0x9E3779B97F4A7C15L) >>> 32) & m_Mask; }
+
+
+	/** <p>Schedules the task dropping idle objects of the given pool, which re-schedules itself as long as the pool is not garbage collected.</p>
+	 *
+	 * @param Scheduler The scheduler to run the task with.
+	 * @param Pool The pool, held weakly so the task does not keep it alive.
+	 * @param Delay The delay in nanoseconds.
+	 */
+	private static <T> void scheduleTrim(final IExpiryScheduler Scheduler, final WeakReference<CSoftReferencePool<T>> Pool, long Delay) {
+		Scheduler.schedule(new Runnable() {
+			@Override public void run() {
+				CSoftReferencePool<T> pool = Pool.get();
+				if (null == pool) { return; }
+				pool.trim();
+				scheduleTrim(Scheduler, Pool, pool.trimInterval());
+			}
+		}, Delay, TimeUnit.NANOSECONDS);
+	}
+}
@@ -0,0 +1,354 @@
+package name.liwuest.util.types;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** <p>Off-heap storage for serialized objects, used by {@link CSpillingSoftReference} to regain objects cleared by the garbage collector without recreating them.</p>
+ *
+ * <p>The arena consists of slabs of fixed size blocks, allocated on demand either as direct {@link ByteBuffer}s or as regions of a memory-mapped file. An object occupies as many blocks as its serialized form requires. If the arena is full, objects are not stored and are recreated by the {@link CSoftReference.IInstantiator} of the reference instead.</p>
+ *
+ * <p>Blocks are released when the object is replaced or the reference is cleared, and when the reference itself is garbage collected.</p>
+ *
+ * @author Bjoern Wuest, Germany
+ * @version 2026-10-16
+ * @param <T> The type of stored objects.
+ */
+public class CSpillArena<T> implements Closeable {
+	/** <p>Interface to implement conversion of objects to and from their stored form.</p>
+	 *
+	 * @author Bjoern Wuest, Germany
+	 * @version 2026-10-16
+	 *
+	 * @param <T> The type of stored objects.
+	 */
+	public interface ISerializer<T> {
+		/** <p>Implementation shall return the serialized form of the given object.</p>
+		 *
+		 * @param Obj The object to serialize, never {@code null}.
+		 * @return The serialized form of the object.
+		 */
+		public byte[] serialize(T Obj);
+
+
+		/** <p>Implementation shall return the object of the given serialized form.</p>
+		 *
+		 * @param Data The serialized form as returned by {@link #serialize(Object)}.
+		 * @return The deserialized object.
+		 */
+		public T deserialize(byte[] Data);
+	}
+
+
+	/** <p>Serializer using Java serialization.</p> */
+	@SuppressWarnings("rawtypes") private final static ISerializer m_JavaSerializer = new ISerializer<Object>() {
+		@Override public byte[] serialize(Object Obj) {
+			ByteArrayOutputStream result = new ByteArrayOutputStream();
+			try (ObjectOutputStream out = new ObjectOutputStream(result)) { out.writeObject(Obj); }
+			catch (IOException Ex) { throw new UncheckedIOException(Ex); }
+			return result.toByteArray();
+		}
+		@Override public Object deserialize(byte[] Data) {
+			try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(Data))) { return in.readObject(); }
+			catch (IOException Ex) { throw new UncheckedIOException(Ex); }
+			catch (ClassNotFoundException Ex) { throw new IllegalStateException(Ex); }
+		}
+	};
+
+
+	/** <p>Storage of one object, also regaining the object for its reference.</p>
+	 *
+	 * @param <T> The type of stored objects.
+	 */
+	final static class CSlot<T> implements CSoftReference.IInstantiator<T> {
+		/** <p>The arena the blocks belong to.</p> */
+		private final CSpillArena<T> m_Arena;
+		/** <p>Implementation to create the object if not stored, or {@code null}.</p> */
+		private final CSoftReference.IInstantiator<T> m_Delegate;
+		/** <p>Blocks holding the serialized object, or {@code null} if no object is stored.</p> */
+		private int[] m_Blocks = null;
+		/** <p>Length of the serialized object.</p> */
+		private int m_Length = 0;
+
+		private CSlot(CSpillArena<T> Arena, CSoftReference.IInstantiator<T> Delegate) {
+			m_Arena = Arena;
+			m_Delegate = Delegate;
+		}
+
+		/** <p>Returns the stored object, or creates and stores one with the delegate. Invoked by {@link CSoftReference#get()} while holding the resurrection lock, so storing the created object cannot interleave with {@link CSpillingSoftReference#set(Object)}.</p> */
+		@Override public T createInstance() {
+			T result = load();
+			if ((null == result) && (null != m_Delegate)) {
+				result = m_Delegate.createInstance();
+				store(result);
+			}
+			return result;
+		}
+
+		/** <p>Stores the given object, replacing the stored one. If it cannot be stored, the stored object is discarded.</p>
+		 *
+		 * @param Obj The object to store, or {@code null} to discard the stored object.
+		 */
+		void store(T Obj) {
+			byte[] data = (null == Obj) ? null : m_Arena.m_Serializer.serialize(Obj);
+			int[] blocks = (null == data) ? null : m_Arena.allocate(data.length);
+			if (null != blocks) { m_Arena.write(blocks, data); }
+			int[] previous;
+			synchronized (this) {
+				previous = m_Blocks;
+				m_Blocks = blocks;
+				m_Length = (null == blocks) ? 0 : data.length;
+			}
+			m_Arena.free(previous);
+		}
+
+		/** <p>Returns the stored object.</p>
+		 *
+		 * @return The stored object, or {@code null} if none is stored.
+		 */
+		T load() {
+			byte[] data;
+			synchronized (this) {
+				if (null == m_Blocks) { return null; }
+				data = m_Arena.read(m_Blocks, m_Length);
+			}
+			return (null == data) ? null : m_Arena.m_Serializer.deserialize(data);
+		}
+
+		/** <p>Discards the stored object.</p> */
+		void discard() { store(null); }
+	}
+
+
+	/** <p>Weak reference to the owner of a slot, to release the blocks of the slot once the owner is garbage collected.</p> */
+	private final static class CTracker extends WeakReference<Object> {
+		/** <p>The slot of the owner.</p> */
+		private final CSlot<?> m_Slot;
+
+		private CTracker(Object Owner, CSlot<?> Slot, ReferenceQueue<Object> Queue) {
+			super(Owner, Queue);
+			m_Slot = Slot;
+		}
+	}
+
+
+	/** <p>Size of a block in bytes.</p> */
+	private final int m_BlockSize;
+	/** <p>Number of blocks per slab.</p> */
+	private final int m_BlocksPerSlab;
+	/** <p>The slabs, allocated on demand.</p> */
+	private final ByteBuffer[] m_Slabs;
+	/** <p>The mapped file, or {@code null} if slabs are direct buffers.</p> */
+	private final FileChannel m_File;
+	/** <p>The serializer for stored objects.</p> */
+	private final ISerializer<T> m_Serializer;
+	/** <p>Trackers of all slots, to keep them reachable.</p> */
+	private final Set<CTracker> m_Trackers = ConcurrentHashMap.newKeySet();
+	/** <p>Queue receiving trackers of garbage collected owners.</p> */
+	private final ReferenceQueue<Object> m_Queue = new ReferenceQueue<>();
+	/** <p>Stack of released blocks.</p> */
+	private int[] m_Free = new int[64];
+	/** <p>Number of released blocks on stack.</p> */
+	private int m_FreeCount = 0;
+	/** <p>Number of blocks ever handed out, i.e. the next never used block.</p> */
+	private int m_Used = 0;
+
+
+	/** <p>Creates a new arena of direct buffers storing objects with Java serialization.</p>
+	 *
+	 * @param BlockSize Size of a block in bytes.
+	 * @param BlocksPerSlab Number of blocks per slab.
+	 * @param MaxSlabs Maximum number of slabs, i.e. the arena holds at most {@code BlockSize * BlocksPerSlab * MaxSlabs} bytes.
+	 * @return The new arena.
+	 */
+	@SuppressWarnings("unchecked") public static <T extends Serializable> CSpillArena<T> direct(int BlockSize, int BlocksPerSlab, int MaxSlabs) { return new CSpillArena<>(BlockSize, BlocksPerSlab, MaxSlabs, null, (ISerializer<T>)m_JavaSerializer); }
+
+
+	/** <p>Creates a new arena of direct buffers.</p>
+	 *
+	 * @param BlockSize Size of a block in bytes.
+	 * @param BlocksPerSlab Number of blocks per slab.
+	 * @param MaxSlabs Maximum number of slabs, i.e. the arena holds at most {@code BlockSize * BlocksPerSlab * MaxSlabs} bytes.
+	 * @param Serializer The serializer for stored objects.
+	 */
+	public CSpillArena(int BlockSize, int BlocksPerSlab, int MaxSlabs, ISerializer<T> Serializer) { this(BlockSize, BlocksPerSlab, MaxSlabs, null, Serializer); }
+
+
+	/** <p>Creates a new arena of regions of the given memory-mapped file. The file is created if it does not exist, and its content is overwritten.</p>
+	 *
+	 * @param File The file to map.
+	 * @param BlockSize Size of a block in bytes.
+	 * @param BlocksPerSlab Number of blocks per slab.
+	 * @param MaxSlabs Maximum number of slabs, i.e. the arena holds at most {@code BlockSize * BlocksPerSlab * MaxSlabs} bytes.
+	 * @param Serializer The serializer for stored objects.
+	 * @throws IOException If the file cannot be opened.
+	 */
+	public CSpillArena(Path File, int BlockSize, int BlocksPerSlab, int MaxSlabs, ISerializer<T> Serializer) throws IOException { this(BlockSize, BlocksPerSlab, MaxSlabs, FileChannel.open(File, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE), Serializer); }
+
+
+	private CSpillArena(int BlockSize, int BlocksPerSlab, int MaxSlabs, FileChannel File, ISerializer<T> Serializer) {
+		if ((0 >= BlockSize) || (0 >= BlocksPerSlab) || (0 >= MaxSlabs)) { throw new IllegalArgumentException("Block size, blocks per slab and slabs must be positive"); }
+		if (Integer.MAX_VALUE / BlockSize < BlocksPerSlab) { throw new IllegalArgumentException("Slab must not exceed 2 GiB"); }
+		if (Integer.MAX_VALUE / BlocksPerSlab < MaxSlabs) { throw new IllegalArgumentException("Arena must not exceed 2^31 blocks"); }
+		m_BlockSize = BlockSize;
+		m_BlocksPerSlab = BlocksPerSlab;
+		m_Slabs = new ByteBuffer[MaxSlabs];
+		m_File = File;
+		m_Serializer = Serializer;
+	}
+
+
+	/** <p>Creates storage of one object for the given owner. The storage is released once the owner is garbage collected.</p>
+	 *
+	 * @param Owner The owner of the storage.
+	 * @param Slot The storage, created with {@link #newSlot(CSoftReference.IInstantiator)}.
+	 */
+	void track(Object Owner, CSlot<T> Slot) { m_Trackers.add(new CTracker(Owner, Slot, m_Queue)); }
+
+
+	/** <p>Creates storage of one object.</p>
+	 *
+	 * @param Delegate Implementation to create the object if not stored, or {@code null}.
+	 * @return The new storage.
+	 */
+	CSlot<T> newSlot(CSoftReference.IInstantiator<T> Delegate) { return new CSlot<>(this, Delegate); }
+
+
+	/** <p>Returns the number of bytes in use by stored objects, including unused parts of their last blocks.</p>
+	 *
+	 * @return The number of bytes in use.
+	 */
+	public synchronized long used() { return (long)(m_Used - m_FreeCount) * m_BlockSize; }
+
+
+	/** <p>Closes the mapped file, if any. Objects are not stored anymore afterwards.</p> */
+	@Override public synchronized void close() throws IOException {
+		Arrays.fill(m_Slabs, null);
+		m_Used = m_Slabs.length * m_BlocksPerSlab;
+		m_FreeCount = 0;
+		m_Trackers.clear();
+		if (null != m_File) { m_File.close(); }
+	}
+
+
+	/** <p>Allocates blocks for the given number of bytes.</p>
+	 *
+	 * @param Length The number of bytes to store.
+	 * @return The indexes of the blocks, or {@code null} if the arena is full.
+	 */
+	private synchronized int[] allocate(int Length) {
+		releaseCollected();
+		int count = Math.max(1, (Length + m_BlockSize - 1) / m_BlockSize);
+		if ((long)m_FreeCount + ((long)m_Slabs.length * m_BlocksPerSlab - m_Used) < count) { return null; }
+		int[] result = new int[count];
+		for (int i = 0; i < count; i++) {
+			if (0 < m_FreeCount) { result[i] = m_Free[--m_FreeCount]; continue; }
+			int slab = m_Used / m_BlocksPerSlab;
+			if (null == m_Slabs[slab]) {
+				try { m_Slabs[slab] = (null == m_File) ? ByteBuffer.allocateDirect(m_BlockSize * m_BlocksPerSlab) : m_File.map(FileChannel.MapMode.READ_WRITE, (long)slab * m_BlockSize * m_BlocksPerSlab, (long)m_BlockSize * m_BlocksPerSlab); }
+				catch (IOException | OutOfMemoryError Ex) {
+					// Out of direct memory or disk space, hand back what was taken
+					freeLocked(Arrays.copyOf(result, i));
+					return null;
+				}
+			}
+			result[i] = m_Used++;
+		}
+		return result;
+	}
+
+
+	/** <p>Releases the given blocks.</p>
+	 *
+	 * @param Blocks The indexes of the blocks, or {@code null}.
+	 */
+	private synchronized void free(int[] Blocks) { freeLocked(Blocks); }
+
+
+	/** <p>Releases the given blocks, the caller must hold the lock of this arena.</p>
+	 *
+	 * @param Blocks The indexes of the blocks, or {@code null}.
+	 */
+	private void freeLocked(int[] Blocks) {
+		if (null == Blocks) { return; }
+		if (m_Free.length < m_FreeCount + Blocks.length) { m_Free = Arrays.copyOf(m_Free, Math.max(m_Free.length * 2, m_FreeCount + Blocks.length)); }
+		System.arraycopy(Blocks, 0, m_Free, m_FreeCount, Blocks.length);
+		m_FreeCount += Blocks.length;
+	}
+
+
+	/** <p>Releases the blocks of all slots whose owner was garbage collected, the caller must hold the lock of this arena.</p> */
+	private void releaseCollected() {
+		Reference<?> ref;
+		while (null != (ref = m_Queue.poll())) {
+			CTracker tracker = (CTracker)ref;
+			m_Trackers.remove(tracker);
+			int[] blocks;
+			synchronized (tracker.m_Slot) {
+				blocks = tracker.m_Slot.m_Blocks;
+				tracker.m_Slot.m_Blocks = null;
+			}
+			freeLocked(blocks);
+		}
+	}
+
+
+	/** <p>Returns a buffer positioned at the start of the given block.</p>
+	 *
+	 * @param Block The index of the block.
+	 * @return The buffer, private to the caller, or {@code null} if the arena was closed.
+	 */
+	private ByteBuffer block(int Block) {
+		ByteBuffer slab = m_Slabs[Block / m_BlocksPerSlab];
+		if (null == slab) { return null; }
+		ByteBuffer result = slab.duplicate();
+		result.position((Block % m_BlocksPerSlab) * m_BlockSize);
+		return result;
+	}
+
+
+	/** <p>Writes the given bytes to the given blocks.</p>
+	 *
+	 * @param Blocks The indexes of the blocks.
+	 * @param Data The bytes to write.
+	 */
+	private void write(int[] Blocks, byte[] Data) {
+		for (int i = 0, offset = 0; offset < Data.length; i++, offset += m_BlockSize) {
+			ByteBuffer block = block(Blocks[i]);
+			if (null == block) { return; }
+			block.put(Data, offset, Math.min(m_BlockSize, Data.length - offset));
+		}
+	}
+
+
+	/** <p>Reads the given number of bytes from the given blocks.</p>
+	 *
+	 * @param Blocks The indexes of the blocks.
+	 * @param Length The number of bytes to read.
+	 * @return The bytes read, or {@code null} if the arena was closed.
+	 */
+	private byte[] read(int[] Blocks, int Length) {
+		byte[] result = new byte[Length];
+		for (int i = 0, offset = 0; offset < Length; i++, offset += m_BlockSize) {
+			ByteBuffer block = block(Blocks[i]);
+			if (null == block) { return null; }
+			block.get(result, offset, Math.min(m_BlockSize, Length - offset));
+		}
+		return result;
+	}
+}
@@ -0,0 +1,76 @@
+package name.liwuest.util.types;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+
+/** <p>Extension of {@link CSoftReference} keeping a serialized copy of the referenced object in a {@link CSpillArena}, i.e. off the heap.</p>
+ * 
+ * <p>Every object set, and every object recreated by the {@link CSoftReference.IInstantiator}, is written to the arena. Once the garbage collector clears the referenced object, it is regained from the arena before falling back to the instantiator, which avoids expensive recreation while not occupying the heap. Writing serializes the object, so this reference suits objects that are read far more often than written.</p>
+ * 
+ * <p>Writing to the arena and replacing the referenced object is done while holding the resurrection lock of the reference, which {@link #get()} holds while regaining, so the arena always holds the object referenced last.</p>
+ * 
+ * @author Bjoern Wuest, Germany
+ * @version 2026-10-16
+ * @param <T> The type of referred object.
+ */
+public class CSpillingSoftReference<T> extends CSoftReference<T> {
+	/** <p>Storage of the serialized object.</p> */
+	private final CSpillArena.CSlot<T> m_Slot;
+	
+	
+	/** <p>Creates a new soft reference that refers to the given object. The new reference is not registered with any queue.</p>
+	 * 
+	 * @param Obj Object the soft reference will refer to.
+	 * @param Instantiator Implementation to use to regain referenced object if it is neither available nor stored in the arena, or {@code null}.
+	 * @param Arena The arena to store the serialized object in.
+	 * 
+	 * @See {@link SoftReference#SoftReference(Object)}
+	 */
+	public CSpillingSoftReference(T Obj, IInstantiator<T> Instantiator, CSpillArena<T> Arena) { this(Obj, null, Arena.newSlot(Instantiator), Arena); }
+	
+	
+	/** <p>Creates a new soft reference that refers to the given object and is registered with the given queue.</p>
+	 * 
+	 * @param Obj Object the soft reference will refer to.
+	 * @param Instantiator Implementation to use to regain referenced object if it is neither available nor stored in the arena, or {@code null}.
+	 * @param Queue The queue with which the reference is to be registered, or {@code null} if registration is not required.
+	 * @param Arena The arena to store the serialized object in.
+	 * 
+	 * @See {@link SoftReference#SoftReference(Object, ReferenceQueue)}
+	 */
+	public CSpillingSoftReference(T Obj, IInstantiator<T> Instantiator, ReferenceQueue<? super T> Queue, CSpillArena<T> Arena) { this(Obj, Queue, Arena.newSlot(Instantiator), Arena); }
+	
+	
+	private CSpillingSoftReference(T Obj, ReferenceQueue<? super T> Queue, CSpillArena.CSlot<T> Slot, CSpillArena<T> Arena) {
+		super(Obj, Slot, Queue);
+		m_Slot = Slot;
+		Arena.track(this, m_Slot);
+		if (null != Obj) { m_Slot.store(Obj); }
+	}
+	
+	
+	/** <p>Sets new object to refer to by this reference and writes it to the arena.</p>
+	 * 
+	 * @param Obj The object to refer to by this reference.
+	 * @return The previously referred object, or {@code null} if no object was referred.
+	 */
+	@Override public T set(T Obj) {
+		synchronized (resurrectionLock()) {
+			m_Slot.store(Obj);
+			return super.set(Obj);
+		}
+	}
+	
+	
+	/** <p>Clears this reference object and discards the object stored in the arena.</p>
+	 * 
+	 * @return This instance.
+	 */
+	@Override public CSoftReference<T> clear() {
+		synchronized (resurrectionLock()) {
+			super.clear();
+			m_Slot.discard();
+		}
+		return this;
+	}
+}
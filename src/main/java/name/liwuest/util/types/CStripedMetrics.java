@@ -0,0 +1,90 @@
+package name.liwuest.util.types;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/** <p>{@link IReferenceMetrics} counting events with striped counters, i.e. {@link LongAdder}s, which do not contend on concurrent updates, and recording instantiator times in a histogram of power of two buckets.</p>
+ *
+ * @author Bjoern Wuest, Germany
+ * @version 2026-10-16
+ */
+public class CStripedMetrics implements IReferenceMetrics, IReferenceMetricsMXBean {
+	private final LongAdder m_Hits = new LongAdder();
+	private final LongAdder m_Misses = new LongAdder();
+	private final LongAdder m_Collected = new LongAdder();
+	private final LongAdder m_Loads = new LongAdder();
+	private final LongAdder m_LoadFailures = new LongAdder();
+	private final LongAdder m_LoadTime = new LongAdder();
+	private final LongAccumulator m_LoadTimeMax = new LongAccumulator(Math::max, 0);
+	private final LongAdder m_Expired = new LongAdder();
+	/** <p>Histogram of instantiator times, bucket {@code i} counts times in {@code [2^(i-1), 2^i)} nanoseconds.</p> */
+	private final LongAdder[] m_LoadTimes = new LongAdder[64];
+
+
+	/** <p>Creates new metrics with all counters zero.</p> */
+	public CStripedMetrics() { for (int i = 0; i < m_LoadTimes.length; i++) { m_LoadTimes[i] = new LongAdder(); } }
+
+
+	@Override public void recordHit() { m_Hits.increment(); }
+	@Override public void recordMiss() { m_Misses.increment(); }
+	@Override public void recordCollected() { m_Collected.increment(); }
+	@Override public void recordLoad(long Nanos, boolean Success) {
+		long nanos = Math.max(0, Nanos);
+		m_Loads.increment();
+		if (!Success) { m_LoadFailures.increment(); }
+		m_LoadTime.add(nanos);
+		m_LoadTimeMax.accumulate(nanos);
+		m_LoadTimes[64 - Long.numberOfLeadingZeros(nanos)].increment();
+	}
+	@Override public void recordExpired() { m_Expired.increment(); }
+
+
+	@Override public long getHits() { return m_Hits.sum(); }
+	@Override public long getMisses() { return m_Misses.sum(); }
+	@Override public double getHitRate() {
+		long hits = m_Hits.sum(), reads = hits + m_Misses.sum();
+		return (0 == reads) ? 1 : (double)hits / reads;
+	}
+	@Override public long getCollected() { return m_Collected.sum(); }
+	@Override public long getLoads() { return m_Loads.sum(); }
+	@Override public long getLoadFailures() { return m_LoadFailures.sum(); }
+	@Override public double getLoadTimeMean() {
+		long loads = m_Loads.sum();
+		return (0 == loads) ? 0 : (double)m_LoadTime.sum() / loads;
+	}
+	@Override public long getLoadTime50thPercentile() { return loadTimePercentile(0.5); }
+	@Override public long getLoadTime99thPercentile() { return loadTimePercentile(0.99); }
+	@Override public long getLoadTimeMax() { return m_LoadTimeMax.get(); }
+	@Override public long getExpired() { return m_Expired.sum(); }
+	@Override public long getPendingClearingTasks() { return CTimedSoftReference.pendingClearingTasks(); }
+	@Override public void reset() {
+		m_Hits.reset();
+		m_Misses.reset();
+		m_Collected.reset();
+		m_Loads.reset();
+		m_LoadFailures.reset();
+		m_LoadTime.reset();
+		m_LoadTimeMax.reset();
+		m_Expired.reset();
+		for (LongAdder bucket : m_LoadTimes) { bucket.reset(); }
+	}
+
+
+	/** <p>Returns the given percentile of instantiator times.</p>
+	 *
+	 * @param Percentile The percentile as fraction, e.g. {@code 0.99}.
+	 * @return The upper bound of the bucket containing the percentile in nanoseconds, or {@code 0} if nothing was recorded.
+	 */
+	public long loadTimePercentile(double Percentile) {
+		long[] counts = new long[m_LoadTimes.length];
+		long total = 0;
+		for (int i = 0; i < counts.length; i++) { total += counts[i] = m_LoadTimes[i].sum(); }
+		if (0 == total) { return 0; }
+		long rank = (long)Math.ceil(total * Percentile);
+		for (int i = 0; i < counts.length; i++) {
+			rank -= counts[i];
+			if (0 >= rank) { return (63 <= i) ? Long.MAX_VALUE : (1l << i); }
+		}
+		return Long.MAX_VALUE;
+	}
+}
@@ -2,16 +2,21 @@ package name.liwuest.util.types;
 
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.SoftReference;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
-import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 /** <p>Extension of {@link CSoftReference} supporting timer related removal of referenced object.</p>
  * 
  * <p>To disable the timeout, set any negative value. To disable the reference, i.e. clear while setting the reference, set the timeout to 0.</p>
  * 
+ * <p>Clearing is driven by an {@link IExpiryScheduler}. Unless given on construction, the default scheduler is used, which is a {@link CTimingWheel} with a single daemon thread and a resolution of {@value #TICK_MILLIS} milliseconds, i.e. references are cleared at most one tick after their timeout. The default scheduler is created on first use and can be replaced with {@link #setDefaultScheduler(IExpiryScheduler)}, e.g. to share the threads of an executor or to shut it down in an orderly manner.</p>
+ * 
+ * <p>Besides expiry after creation or write, the referenced object can expire after it was not accessed for a given idle timeout. Reading the object then just records the time of access, the clearing task checks the idle deadline when due. Both can be combined, i.e. the object is cleared at whichever deadline comes first, to limit the lifetime of frequently accessed objects.</p>
+ * 
+ * <p>Setting a new value never blocks. If the timeout is reset on write, {@link #set(Object)} just moves the deadline forward; the clearing task checks the deadline when due and re-arms itself if the deadline was moved.</p>
+ * 
+ * <p>If the scheduler does not accept the clearing task, e.g. because it was shut down, the value is kept, i.e. it is cleared by the garbage collector only. Setting or regaining a value tries to schedule the clearing task again.</p>
+ * 
  * @author Bjoern Wuest, Germany
  * @version 2013-07-15
  * @param <T> The type of referred object.
@@ -19,16 +24,48 @@ import java.util.concurrent.TimeUnit;
 public class CTimedSoftReference<T> extends CSoftReference<T> {
 	// FIXME: add constructors to support CSoftReference.IInstantiator
 	
-	/** <p>Central thread executor for scheduled task execution.</p> */
-	private final static ScheduledExecutorService m_ClearingTasks = new ScheduledThreadPoolExecutor(Runtime.getRuntime().availableProcessors(), new ThreadFactory() { @Override public Thread newThread(Runnable r) { return new Thread(r, "CTimedSoftReference - Clearing Tasks"); } });
+	/** <p>Resolution of the timing wheel in milliseconds.</p> */
+	public final static long TICK_MILLIS = 10;
+	/** <p>Task to clear the value of the soft reference when due.</p> */
+	private final static class CClearingTask implements Runnable {
+		/** <p>The soft reference to clear.</p> */
+		private final CTimedSoftReference<?> m_Reference;
+		/** <p>Flag to indicate that the task was run, to tell a task run right away from one not accepted by the scheduler.</p> */
+		private volatile boolean m_Started = false;
+		
+		private CClearingTask(CTimedSoftReference<?> Reference) { m_Reference = Reference; }
+		
+		@Override public void run() {
+			m_Started = true;
+			m_Reference.expire();
+		}
+	}
+	
+	
+	/** <p>Atomic updater for {@link #m_Armed}.</p> */
+	@SuppressWarnings("rawtypes") private final static AtomicIntegerFieldUpdater<CTimedSoftReference> m_ArmedUpdater = AtomicIntegerFieldUpdater.newUpdater(CTimedSoftReference.class, "m_Armed");
+	/** <p>Scheduler used by references not given a scheduler on construction, created on first use.</p> */
+	private static volatile IExpiryScheduler m_DefaultScheduler = null;
+	/** <p>Scheduler for the task clearing the value of the soft reference.</p> */
+	private final IExpiryScheduler m_ClearingTasks;
 	/** <p>Flag to indicate that setting a new value to the soft reference resets the counter to clear the value of the soft reference.</p> */
 	private final Boolean m_ResetTimeToClearOnSet;
 	/** <p>The time to wait before the value of this soft reference is cleared.</p> */
 	private final Long m_TimeToClear;
 	/** <p>The unit of time to wait.</p> */
 	private final TimeUnit m_Timeunit;
-	/** <p>Scheduled task to clear the value of the soft reference.</p> */
-	private ScheduledFuture<?> m_ClearingTask = null;
+	/** <p>The time to wait before the value of this soft reference is cleared in nanoseconds.</p> */
+	private final long m_TimeToClearNanos;
+	/** <p>The time the value of this soft reference may be idle, i.e. not accessed, before it is cleared in nanoseconds, or a non-positive value if idle expiry is disabled.</p> */
+	private final long m_TimeToIdleNanos;
+	/** <p>Minimum time in nanoseconds between two recordings of access, to avoid writing the time of access on every read.</p> */
+	private final long m_AccessGranularityNanos;
+	/** <p>Point in time, as of {@link IExpiryScheduler#nanoTime()}, at which the value of this soft reference is cleared after creation or write.</p> */
+	private volatile long m_Deadline;
+	/** <p>Point in time, as of {@link IExpiryScheduler#nanoTime()}, at which the value of this soft reference was last accessed.</p> */
+	private volatile long m_LastAccess;
+	/** <p>{@code 1} if a task to clear the value of the soft reference is scheduled, {@code 0} otherwise.</p> */
+	private volatile int m_Armed = 0;
 	
 	/** <p>Creates a new soft reference that does not refer to any object. The
 	 * new reference is not registered with any queue.</p>
@@ -144,33 +181,208 @@ public class CTimedSoftReference<T> extends CSoftReference<T> {
 	 * 
 	 * @See {@link SoftReference#SoftReference(Object, ReferenceQueue)}
 	 */
-	public CTimedSoftReference(T Obj, CSoftReference.IInstantiator<T> Instantiator, ReferenceQueue<? super T> Queue, Long Timeout, TimeUnit Timeunit, Boolean ResetOnWrite) {
+	public CTimedSoftReference(T Obj, CSoftReference.IInstantiator<T> Instantiator, ReferenceQueue<? super T> Queue, Long Timeout, TimeUnit Timeunit, Boolean ResetOnWrite) { this(Obj, Instantiator, Queue, Timeout, Timeunit, ResetOnWrite, -1l, TimeUnit.NANOSECONDS); }
+	
+	/** <p>Creates a new soft reference that refers to the given object and additionally expires after the object was not accessed for the given idle timeout. The new reference is not registered with any queue.</p>
+	 * 
+	 * @param Obj Object the soft reference will refer to.
+	 * @param Instantiator Implementation to use to regain referenced object once it becomes unavailable, e.g. is garbage collected.
+	 * @param Timeout The time to wait before the object referenced by this soft reference will be cleared, i.e. before {@link #clear()} is invoked. Set any negative value to expire after idle timeout only.
+	 * @param Timeunit The unit of time given in parameter {@code Timeout}.
+	 * @param ResetOnWrite Set to {@code true} to reset the timeout.
+	 * @param IdleTimeout The time the object may not be accessed by {@link #get()} or {@link #set(Object)} before it will be cleared. Set any non-positive value to disable expiry after idle timeout.
+	 * @param IdleTimeunit The unit of time given in parameter {@code IdleTimeout}.
+	 * 
+	 * @See {@link SoftReference#SoftReference(Object)}
+	 */
+	public CTimedSoftReference(T Obj, CSoftReference.IInstantiator<T> Instantiator, Long Timeout, TimeUnit Timeunit, Boolean ResetOnWrite, Long IdleTimeout, TimeUnit IdleTimeunit) { this(Obj, Instantiator, null, Timeout, Timeunit, ResetOnWrite, IdleTimeout, IdleTimeunit); }
+	
+	/** <p>Creates a new soft reference that refers to the given object, additionally expires after the object was not accessed for the given idle timeout, and is registered with the given queue.</p>
+	 * 
+	 * @param Obj Object the soft reference will refer to.
+	 * @param Instantiator Implementation to use to regain referenced object once it becomes unavailable, e.g. is garbage collected.
+	 * @param Queue The queue with which the reference is to be registered, or {@code null} if registration is not required.
+	 * @param Timeout The time to wait before the object referenced by this soft reference will be cleared, i.e. before {@link #clear()} is invoked. Set any negative value to expire after idle timeout only.
+	 * @param Timeunit The unit of time given in parameter {@code Timeout}.
+	 * @param ResetOnWrite Set to {@code true} to reset the timeout.
+	 * @param IdleTimeout The time the object may not be accessed by {@link #get()} or {@link #set(Object)} before it will be cleared. Set any non-positive value to disable expiry after idle timeout.
+	 * @param IdleTimeunit The unit of time given in parameter {@code IdleTimeout}.
+	 * 
+	 * @See {@link SoftReference#SoftReference(Object, ReferenceQueue)}
+	 */
+	public CTimedSoftReference(T Obj, CSoftReference.IInstantiator<T> Instantiator, ReferenceQueue<? super T> Queue, Long Timeout, TimeUnit Timeunit, Boolean ResetOnWrite, Long IdleTimeout, TimeUnit IdleTimeunit) { this(Obj, Instantiator, Queue, Timeout, Timeunit, ResetOnWrite, IdleTimeout, IdleTimeunit, null); }
+	
+	/** <p>Creates a new soft reference that refers to the given object, additionally expires after the object was not accessed for the given idle timeout, is registered with the given queue and is cleared by the given scheduler.</p>
+	 * 
+	 * @param Obj Object the soft reference will refer to.
+	 * @param Instantiator Implementation to use to regain referenced object once it becomes unavailable, e.g. is garbage collected.
+	 * @param Queue The queue with which the reference is to be registered, or {@code null} if registration is not required.
+	 * @param Timeout The time to wait before the object referenced by this soft reference will be cleared, i.e. before {@link #clear()} is invoked. Set any negative value to expire after idle timeout only.
+	 * @param Timeunit The unit of time given in parameter {@code Timeout}.
+	 * @param ResetOnWrite Set to {@code true} to reset the timeout.
+	 * @param IdleTimeout The time the object may not be accessed by {@link #get()} or {@link #set(Object)} before it will be cleared. Set any non-positive value to disable expiry after idle timeout.
+	 * @param IdleTimeunit The unit of time given in parameter {@code IdleTimeout}.
+	 * @param Scheduler The scheduler to clear the object with, or {@code null} to use the {@link #getDefaultScheduler() default scheduler}.
+	 * 
+	 * @See {@link SoftReference#SoftReference(Object, ReferenceQueue)}
+	 */
+	public CTimedSoftReference(T Obj, CSoftReference.IInstantiator<T> Instantiator, ReferenceQueue<? super T> Queue, Long Timeout, TimeUnit Timeunit, Boolean ResetOnWrite, Long IdleTimeout, TimeUnit IdleTimeunit, IExpiryScheduler Scheduler) {
 		super(Obj, Instantiator, Queue);
+		m_ClearingTasks = (null != Scheduler) ? Scheduler : getDefaultScheduler();
 		m_ResetTimeToClearOnSet = ResetOnWrite;
 		m_TimeToClear = Timeout;
 		m_Timeunit = Timeunit;
+		m_TimeToClearNanos = (0 < m_TimeToClear) ? m_Timeunit.toNanos(m_TimeToClear) : m_TimeToClear;
+		m_TimeToIdleNanos = (0 < IdleTimeout) ? IdleTimeunit.toNanos(IdleTimeout) : -1;
+		m_AccessGranularityNanos = Math.max(0, m_TimeToIdleNanos >> 6);
 		if (null != Obj) {
-			final CTimedSoftReference<T> _this = this;
-			if (0 < m_TimeToClear) { m_ClearingTask = m_ClearingTasks.schedule(new Runnable() { @Override public void run() { _this.clear(); } }, m_TimeToClear, m_Timeunit); }
-			else if (0 == m_TimeToClear) { _this.clear(); }
+			if (0 == m_TimeToClear) { clear(); }
+			else if (isTimed()) { arm(); }
 		}
 	}
 	
 	
-	@Override public synchronized T set(T Obj) {
-		if (m_ResetTimeToClearOnSet && (null != m_ClearingTask)) {
-			m_ClearingTask.cancel(false);
-			while (!m_ClearingTask.isDone()) { try { Thread.sleep(1); } catch (InterruptedException Ignore) { /* ignore */ } }
-		}
-		if ((null != m_ClearingTask) && m_ClearingTask.isDone()) { m_ClearingTask = null; }
-		T result = null;
-		if (0 != m_TimeToClear) {
-			result = super.set(Obj);
-			if ((0 < m_TimeToClear) && (null == m_ClearingTask)) {
-				final CTimedSoftReference<T> _this = this;
-				m_ClearingTask = m_ClearingTasks.schedule(new Runnable() { @Override public void run() { _this.clear(); } }, m_TimeToClear, m_Timeunit);
+	/** <p>Returns the scheduler used by references not given a scheduler on construction. If none was set, a {@link CTimingWheel} with a single daemon thread is created on first invocation.</p>
+	 * 
+	 * @return The default scheduler.
+	 */
+	public static IExpiryScheduler getDefaultScheduler() {
+		IExpiryScheduler result = m_DefaultScheduler;
+		if (null == result) {
+			synchronized (CTimedSoftReference.class) {
+				result = m_DefaultScheduler;
+				if (null == result) { m_DefaultScheduler = result = new CTimingWheel(TICK_MILLIS, TimeUnit.MILLISECONDS, 4096, "CTimedSoftReference - Clearing Tasks"); }
 			}
 		}
 		return result;
 	}
+	
+	
+	/** <p>Sets the scheduler used by references created afterwards without a scheduler given on construction. References created before keep using the previous default scheduler, which is not shut down by this method.</p>
+	 * 
+	 * @param Scheduler The new default scheduler, or {@code null} to create a new {@link CTimingWheel} on next use.
+	 * @return The previous default scheduler, or {@code null} if none was created yet.
+	 */
+	public static synchronized IExpiryScheduler setDefaultScheduler(IExpiryScheduler Scheduler) {
+		IExpiryScheduler result = m_DefaultScheduler;
+		m_DefaultScheduler = Scheduler;
+		return result;
+	}
+	
+	
+	/** <p>Returns the number of clearing tasks pending with the default scheduler.</p>
+	 * 
+	 * @return The number of pending tasks, or {@code 0} if the default scheduler was not created yet.
+	 */
+	public static long pendingClearingTasks() {
+		IExpiryScheduler scheduler = m_DefaultScheduler;
+		return (null == scheduler) ? 0 : scheduler.pending();
+	}
+	
+	
+	@Override public T get() {
+		T result = super.get();
+		if ((0 < m_TimeToIdleNanos) && (null != result)) {
+			// Record access only, and only if the last recording is not recent, so frequent reads do not contend on writing
+			long now = m_ClearingTasks.nanoTime();
+			if (now - m_LastAccess > m_AccessGranularityNanos) { m_LastAccess = now; }
+		}
+		return result;
+	}
+	
+	
+	@Override public T set(T Obj) {
+		if (0 == m_TimeToClear) { return null; }
+		if (!isTimed()) { return super.set(Obj); }
+		// Move deadlines before setting the value, so the clearing task never sees the new value with the old deadline
+		long now = m_ClearingTasks.nanoTime();
+		if (m_ResetTimeToClearOnSet) { m_Deadline = now + m_TimeToClearNanos; }
+		m_LastAccess = now;
+		T result = super.set(Obj);
+		arm();
+		return result;
+	}
+	
+	
+	/** <p>Starts the timeout of an object created or regained by {@link #get()} like for an object set, so objects provided lazily by the instantiator expire, too.</p>
+	 * 
+	 * @param Obj The regained object.
+	 */
+	@Override void regained(T Obj) {
+		if (null == Obj) { return; }
+		if (0 == m_TimeToClear) { clear(); return; }
+		if (!isTimed()) { return; }
+		// A regained object is a new object, so its timeout starts now regardless of reset on write
+		long now = m_ClearingTasks.nanoTime();
+		m_Deadline = now + m_TimeToClearNanos;
+		m_LastAccess = now;
+		arm();
+	}
+	
+	
+	/** <p>Returns {@code true} if the value of this soft reference expires after timeout or idle timeout.</p>
+	 * 
+	 * @return {@code true} if the value of this soft reference expires.
+	 */
+	private boolean isTimed() { return (0 < m_TimeToClear) || (0 < m_TimeToIdleNanos); }
+	
+	
+	/** <p>Returns the time left until the value of this soft reference is cleared, i.e. until the earlier of timeout and idle timeout.</p>
+	 * 
+	 * @param Now The current point in time, as of {@link IExpiryScheduler#nanoTime()}.
+	 * @return The time left in nanoseconds.
+	 */
+	private long remaining(long Now) {
+		long result = Long.MAX_VALUE;
+		if (0 < m_TimeToClear) { result = m_Deadline - Now; }
+		if (0 < m_TimeToIdleNanos) { result = Math.min(result, m_LastAccess + m_TimeToIdleNanos - Now); }
+		return result;
+	}
+	
+	
+	/** <p>Schedules the task to clear the value of the soft reference at the deadline, unless it is scheduled already.</p> */
+	private void arm() {
+		if (!m_ArmedUpdater.compareAndSet(this, 0, 1)) { return; }
+		long now = m_ClearingTasks.nanoTime();
+		m_Deadline = now + m_TimeToClearNanos;
+		m_LastAccess = now;
+		// Not accepted, keep the value and let the next write try again
+		if (!schedule(remaining(now))) { m_Armed = 0; }
+	}
+	
+	
+	/** <p>Schedules the task to clear the value of the soft reference.</p>
+	 * 
+	 * @param Delay The time to wait in nanoseconds.
+	 * @return {@code true} if the task was scheduled, {@code false} if the scheduler did not accept it, e.g. because it was shut down.
+	 */
+	private boolean schedule(long Delay) {
+		CClearingTask task = new CClearingTask(this);
+		IExpiryScheduler.ITimeout timeout = m_ClearingTasks.schedule(task, Delay, TimeUnit.NANOSECONDS);
+		return !timeout.isDone() || task.m_Started;
+	}
+	
+	
+	/** <p>Clears the value of the soft reference if the deadline is reached, otherwise re-arms the task for the moved deadline.</p> */
+	private void expire() {
+		while (true) {
+			// Read reference before deadlines, see set(Object)
+			SoftReference<T> ref = reference();
+			long remaining = remaining(m_ClearingTasks.nanoTime());
+			if (0 < remaining) {
+				if (!schedule(remaining)) { m_Armed = 0; }
+				return;
+			}
+			m_Armed = 0;
+			if (clearReference(ref, ERemovalCause.EXPIRED)) {
+				if (null != ref) { CReferenceMetrics.current().recordExpired(); }
+				return;
+			}
+			// Value was set concurrently, make sure it is cleared as well unless the setter armed already
+			if (!m_ArmedUpdater.compareAndSet(this, 0, 1)) { return; }
+			long now = m_ClearingTasks.nanoTime();
+			m_Deadline = now + m_TimeToClearNanos;
+			m_LastAccess = now;
+		}
+	}
 }
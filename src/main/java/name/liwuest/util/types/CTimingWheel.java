@@ -0,0 +1,201 @@
+package name.liwuest.util.types;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** <p>Hashed timing wheel to run large numbers of delayed tasks with constant scheduling cost.</p>
+ *
+ * <p>Tasks are put into one of {@code WheelSize} buckets according to their deadline. A single worker thread advances the wheel every tick and runs all tasks of the current bucket whose deadline is reached in one batch. Tasks with deadlines beyond one revolution of the wheel remain in their bucket for the according number of rounds. Scheduling and cancelling is O(1), tasks are run at most one tick late.</p>
+ *
+ * <p>Tasks shall be short, since they are run on the worker thread and delay all other tasks of the same tick. A {@link RuntimeException} thrown by a task is passed to the uncaught exception handler of the worker thread and the wheel continues; an {@link Error} terminates the worker.</p>
+ *
+ * <p>The worker thread is created with the given {@link ThreadFactory}, so it may be a daemon thread or, on runtimes supporting it, a virtual thread (e.g. {@code Thread.ofVirtual().factory()}).</p>
+ *
+ * @author Bjoern Wuest, Germany
+ * @version 2026-10-16
+ */
+public class CTimingWheel implements IExpiryScheduler {
+	/** <p>Task waiting in a bucket, linked with the other tasks of the bucket.</p> */
+	private final static class CTimeout implements ITimeout {
+		private final static int PENDING = 0, CANCELLED = 1, RUNNING = 2, EXPIRED = 3;
+		@SuppressWarnings("rawtypes") private final static AtomicIntegerFieldUpdater<CTimeout> m_StateUpdater = AtomicIntegerFieldUpdater.newUpdater(CTimeout.class, "m_State");
+
+		/** <p>The task to run.</p> */
+		private final Runnable m_Task;
+		/** <p>Deadline of the task in nanoseconds relative to the start of the wheel.</p> */
+		private final long m_Deadline;
+		/** <p>Revolutions of the wheel left before the task is due, maintained by the worker only.</p> */
+		private long m_Rounds;
+		/** <p>Neighbours in the bucket, maintained by the worker only.</p> */
+		private CTimeout m_Prev, m_Next;
+		/** <p>State of the task.</p> */
+		private volatile int m_State = PENDING;
+		/** <p>Number of pending tasks of the wheel, counted down once the task is run or cancelled.</p> */
+		private final AtomicLong m_Pending;
+
+		private CTimeout(Runnable Task, long Deadline, AtomicLong Pending) {
+			m_Task = Task;
+			m_Deadline = Deadline;
+			m_Pending = Pending;
+		}
+
+		@Override public boolean cancel() {
+			if (!m_StateUpdater.compareAndSet(this, PENDING, CANCELLED)) { return false; }
+			m_Pending.decrementAndGet();
+			return true;
+		}
+		@Override public boolean isDone() { int state = m_State; return (CANCELLED == state) || (EXPIRED == state); }
+	}
+
+
+	/** <p>Duration of one tick in nanoseconds.</p> */
+	private final long m_TickDuration;
+	/** <p>Buckets of the wheel, the heads of linked lists of tasks.</p> */
+	private final CTimeout[] m_Buckets;
+	/** <p>Mask to map ticks to buckets.</p> */
+	private final int m_Mask;
+	/** <p>Tasks scheduled but not yet put into a bucket.</p> */
+	private final ConcurrentLinkedQueue<CTimeout> m_Scheduled = new ConcurrentLinkedQueue<>();
+	/** <p>Number of tasks scheduled and neither run nor cancelled.</p> */
+	private final AtomicLong m_Pending = new AtomicLong();
+	/** <p>Point in time the wheel was started at.</p> */
+	private final long m_StartTime = System.nanoTime();
+	/** <p>The worker thread advancing the wheel.</p> */
+	private final Thread m_Worker;
+	/** <p>Flag to indicate that the wheel was stopped.</p> */
+	private volatile boolean m_Stopped = false;
+	/** <p>The tick processed next, maintained by the worker only.</p> */
+	private long m_Tick = 0;
+
+
+	/** <p>Creates and starts a new timing wheel with a daemon worker thread of the given name.</p>
+	 *
+	 * @param TickDuration The duration of one tick, i.e. the resolution of the wheel.
+	 * @param Timeunit The unit of time given in parameter {@code TickDuration}.
+	 * @param WheelSize The number of buckets of the wheel, rounded up to the next power of two.
+	 * @param ThreadName The name of the worker thread.
+	 */
+	public CTimingWheel(long TickDuration, TimeUnit Timeunit, int WheelSize, final String ThreadName) { this(TickDuration, Timeunit, WheelSize, new ThreadFactory() { @Override public Thread newThread(Runnable r) { Thread result = new Thread(r, ThreadName); result.setDaemon(true); return result; } }); }
+
+
+	/** <p>Creates and starts a new timing wheel.</p>
+	 *
+	 * @param TickDuration The duration of one tick, i.e. the resolution of the wheel.
+	 * @param Timeunit The unit of time given in parameter {@code TickDuration}.
+	 * @param WheelSize The number of buckets of the wheel, rounded up to the next power of two.
+	 * @param Factory Factory to create the worker thread with.
+	 */
+	public CTimingWheel(long TickDuration, TimeUnit Timeunit, int WheelSize, ThreadFactory Factory) {
+		if (0 >= TickDuration) { throw new IllegalArgumentException("Tick duration must be positive: " + TickDuration); }
+		if ((0 >= WheelSize) || ((1 << 30) < WheelSize)) { throw new IllegalArgumentException("Wheel size must be between 1 and 2^30: " + WheelSize); }
+		m_TickDuration = Timeunit.toNanos(TickDuration);
+		int size = 1;
+		while (size < WheelSize) { size <<= 1; }
+		m_Buckets = new CTimeout[size];
+		m_Mask = size - 1;
+		m_Worker = Factory.newThread(new Runnable() { @Override public void run() { work(); } });
+		m_Worker.start();
+	}
+
+
+	@Override public ITimeout schedule(Runnable Task, long Delay, TimeUnit Timeunit) {
+		long delay = Math.max(0, Timeunit.toNanos(Delay));
+		long deadline = System.nanoTime() - m_StartTime;
+		// Guard against overflow of very long delays
+		deadline = (Long.MAX_VALUE - deadline < delay) ? Long.MAX_VALUE : deadline + delay;
+		m_Pending.incrementAndGet();
+		CTimeout result = new CTimeout(Task, deadline, m_Pending);
+		if (m_Stopped) {
+			result.cancel();
+			return result;
+		}
+		m_Scheduled.add(result);
+		return result;
+	}
+
+
+	@Override public long nanoTime() { return System.nanoTime(); }
+
+
+	@Override public long pending() { return m_Pending.get(); }
+
+
+	@Override public void shutdown() {
+		m_Stopped = true;
+		m_Worker.interrupt();
+	}
+
+
+	/** <p>Advances the wheel until it is stopped.</p> */
+	private void work() {
+		while (!m_Stopped) {
+			long tickEnd = (m_Tick + 1) * m_TickDuration;
+			long sleep = tickEnd - (System.nanoTime() - m_StartTime);
+			if (0 < sleep) {
+				try { TimeUnit.NANOSECONDS.sleep(sleep); } catch (InterruptedException Ignore) { /* re-check for stop */ }
+				continue;
+			}
+			transferScheduled();
+			expire(m_Buckets[(int)(m_Tick & m_Mask)], tickEnd);
+			m_Tick++;
+		}
+	}
+
+
+	/** <p>Puts all newly scheduled tasks into their buckets. Tasks due already are put into the bucket of the current tick.</p> */
+	private void transferScheduled() {
+		CTimeout timeout;
+		while (null != (timeout = m_Scheduled.poll())) {
+			if (CTimeout.CANCELLED == timeout.m_State) { continue; }
+			long ticks = Math.max(m_Tick, timeout.m_Deadline / m_TickDuration);
+			timeout.m_Rounds = (ticks - m_Tick) / m_Buckets.length;
+			int index = (int)(ticks & m_Mask);
+			timeout.m_Next = m_Buckets[index];
+			if (null != timeout.m_Next) { timeout.m_Next.m_Prev = timeout; }
+			m_Buckets[index] = timeout;
+		}
+	}
+
+
+	/** <p>Runs all tasks of the given bucket which are due, removes cancelled tasks and counts down the rounds of all others.</p>
+	 *
+	 * @param Head The first task of the bucket.
+	 * @param Now The current time relative to the start of the wheel.
+	 */
+	private void expire(CTimeout Head, long Now) {
+		CTimeout timeout = Head;
+		while (null != timeout) {
+			CTimeout next = timeout.m_Next;
+			if (CTimeout.CANCELLED == timeout.m_State) { remove(timeout); }
+			else if ((0 >= timeout.m_Rounds) && (timeout.m_Deadline <= Now)) {
+				remove(timeout);
+				if (CTimeout.m_StateUpdater.compareAndSet(timeout, CTimeout.PENDING, CTimeout.RUNNING)) {
+					m_Pending.decrementAndGet();
+					try { timeout.m_Task.run(); }
+					catch (RuntimeException Ex) {
+						// A failing task must not stop the wheel, but shall not go unnoticed either
+						Thread worker = Thread.currentThread();
+						worker.getUncaughtExceptionHandler().uncaughtException(worker, Ex);
+					} finally { timeout.m_State = CTimeout.EXPIRED; }
+				}
+			} else { timeout.m_Rounds--; }
+			timeout = next;
+		}
+	}
+
+
+	/** <p>Removes the given task from its bucket.</p>
+	 *
+	 * @param Timeout The task to remove.
+	 */
+	private void remove(CTimeout Timeout) {
+		if (null != Timeout.m_Prev) { Timeout.m_Prev.m_Next = Timeout.m_Next; }
+		else { m_Buckets[(int)(m_Tick & m_Mask)] = Timeout.m_Next; }
+		if (null != Timeout.m_Next) { Timeout.m_Next.m_Prev = Timeout.m_Prev; }
+		Timeout.m_Prev = null;
+		Timeout.m_Next = null;
+	}
+}
@@ -0,0 +1,15 @@
+package name.liwuest.util.types;
+
+/** <p>Cause of the removal of the referred object of a {@link CSoftReference}, as reported to its {@link IRemovalListener}.</p>
+ *
+ * @author Bjoern Wuest, Germany
+ * @version 2026-10-16
+ */
+public enum ERemovalCause {
+	/** <p>The referred object was garbage collected, or evicted on heap pressure by {@link CMemoryPressureMonitor}.</p> */
+	COLLECTED,
+	/** <p>The reference was cleared with {@link CSoftReference#clear()}.</p> */
+	EXPLICIT,
+	/** <p>The referred object of a {@link CTimedSoftReference} was cleared after its timeout or idle timeout.</p> */
+	EXPIRED
+}
@@ -0,0 +1,62 @@
+package name.liwuest.util.types;
+
+import java.util.concurrent.TimeUnit;
+
+/** <p>Scheduler running the tasks that clear expired {@link CTimedSoftReference} instances.</p>
+ *
+ * <p>The scheduler also provides the clock the deadlines of references are computed with, so a scheduler not bound to real time, e.g. {@link CManualExpiryScheduler}, expires references consistently with its own notion of time.</p>
+ *
+ * <p>Available implementations are {@link CTimingWheel}, which drives all tasks by a single thread, {@link CExecutorExpiryScheduler}, which delegates to a given {@link java.util.concurrent.ScheduledExecutorService}, and {@link CManualExpiryScheduler}, which runs tasks only when advanced explicitly.</p>
+ *
+ * @author Bjoern Wuest, Germany
+ * @version 2026-10-16
+ */
+public interface IExpiryScheduler {
+	/** <p>Handle of a scheduled task.</p>
+	 *
+	 * @author Bjoern Wuest, Germany
+	 * @version 2026-10-16
+	 */
+	public interface ITimeout {
+		/** <p>Attempts to cancel the task. Cancelling fails if the task is already running, has run or was cancelled before.</p>
+		 *
+		 * @return {@code true} if the task was cancelled by this invocation.
+		 */
+		public boolean cancel();
+
+
+		/** <p>Returns {@code true} if the task was cancelled or has completed running.</p>
+		 *
+		 * @return {@code true} if the task was cancelled or has completed running.
+		 */
+		public boolean isDone();
+	}
+
+
+	/** <p>Schedules the given task to be run after the given delay. Tasks scheduled after {@link #shutdown()} are never run.</p>
+	 *
+	 * @param Task The task to run.
+	 * @param Delay The time to wait before running the task.
+	 * @param Timeunit The unit of time given in parameter {@code Delay}.
+	 * @return Handle to cancel the task.
+	 */
+	public ITimeout schedule(Runnable Task, long Delay, TimeUnit Timeunit);
+
+
+	/** <p>Returns the current point in time of the clock of this scheduler in nanoseconds. Like {@link System#nanoTime()}, the value is meaningful only relative to other values of the same scheduler.</p>
+	 *
+	 * @return The current point in time in nanoseconds.
+	 */
+	public long nanoTime();
+
+
+	/** <p>Returns the number of tasks scheduled that have neither run nor were cancelled.</p>
+	 *
+	 * @return The number of pending tasks, or {@code -1} if not known.
+	 */
+	public long pending();
+
+
+	/** <p>Shuts the scheduler down and releases its threads. Pending tasks are not run anymore.</p> */
+	public void shutdown();
+}
@@ -0,0 +1,33 @@
+package name.liwuest.util.types;
+
+/** <p>Receiver of instrumentation events of {@link CSoftReference}, {@link CTimedSoftReference} and {@link CSoftReferenceCache}.</p>
+ *
+ * <p>Implementations are invoked on the hot path of reading references, so they shall be cheap and must not block. The SPI is neutral to any metrics library, i.e. it may be bridged to e.g. Micrometer by implementing it with according counters and timers. Install an implementation with {@link CReferenceMetrics#install(IReferenceMetrics)}.</p>
+ *
+ * @author Bjoern Wuest, Germany
+ * @version 2026-10-16
+ */
+public interface IReferenceMetrics {
+	/** <p>Invoked when a read found the referenced object available.</p> */
+	public void recordHit();
+
+
+	/** <p>Invoked when a read found the referenced object unavailable, regardless of whether it is regained afterwards.</p> */
+	public void recordMiss();
+
+
+	/** <p>Invoked when a read found the referenced object cleared by the garbage collector (or evicted like it), as opposed to cleared explicitly or never set. Invoked once per cleared object, regardless of the number of reads finding it cleared.</p> */
+	public void recordCollected();
+
+
+	/** <p>Invoked after an instantiator was invoked to regain an object.</p>
+	 *
+	 * @param Nanos The time the instantiator took in nanoseconds.
+	 * @param Success {@code false} if the instantiator failed with an exception.
+	 */
+	public void recordLoad(long Nanos, boolean Success);
+
+
+	/** <p>Invoked when the object of a {@link CTimedSoftReference} was cleared because its timeout or idle timeout expired.</p> */
+	public void recordExpired();
+}
@@ -0,0 +1,35 @@
+package name.liwuest.util.types;
+
+/** <p>Management interface of {@link CStripedMetrics}.</p>
+ *
+ * @author Bjoern Wuest, Germany
+ * @version 2026-10-16
+ */
+public interface IReferenceMetricsMXBean {
+	/** @return Number of reads finding the referenced object available. */
+	public long getHits();
+	/** @return Number of reads finding the referenced object unavailable. */
+	public long getMisses();
+	/** @return Ratio of hits to all reads, or {@code 1} if there were no reads. */
+	public double getHitRate();
+	/** @return Number of reads finding the referenced object cleared by the garbage collector. */
+	public long getCollected();
+	/** @return Number of invocations of instantiators. */
+	public long getLoads();
+	/** @return Number of invocations of instantiators failing with an exception. */
+	public long getLoadFailures();
+	/** @return Mean time of invocations of instantiators in nanoseconds. */
+	public double getLoadTimeMean();
+	/** @return Median time of invocations of instantiators in nanoseconds, as upper bound of a power of two bucket. */
+	public long getLoadTime50thPercentile();
+	/** @return 99th percentile time of invocations of instantiators in nanoseconds, as upper bound of a power of two bucket. */
+	public long getLoadTime99thPercentile();
+	/** @return Maximum time of invocations of instantiators in nanoseconds. */
+	public long getLoadTimeMax();
+	/** @return Number of objects cleared because their timeout expired. */
+	public long getExpired();
+	/** @return Number of clearing tasks pending with the default scheduler of {@link CTimedSoftReference}. */
+	public long getPendingClearingTasks();
+	/** <p>Resets all counters.</p> */
+	public void reset();
+}
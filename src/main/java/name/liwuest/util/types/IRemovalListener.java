@@ -0,0 +1,18 @@
+package name.liwuest.util.types;
+
+/** <p>Listener notified when the referred object of a {@link CSoftReference} was removed, set with {@link CSoftReference#setRemovalListener(IRemovalListener)}.</p>
+ *
+ * <p>Listeners are called by the thread of {@link CReferenceReaper}, shortly after the removal. They shall be short, since they delay the notification of all other listeners.</p>
+ *
+ * @author Bjoern Wuest, Germany
+ * @version 2026-10-16
+ * @param <T> The type of referred object.
+ */
+public interface IRemovalListener<T> {
+	/** <p>Implementation shall process the removal of the referred object of the given reference.</p>
+	 *
+	 * @param Reference The reference whose referred object was removed. It may refer to a new object already, e.g. if regained or set since.
+	 * @param Cause The cause of the removal.
+	 */
+	public void onRemoval(CSoftReference<? extends T> Reference, ERemovalCause Cause);
+}